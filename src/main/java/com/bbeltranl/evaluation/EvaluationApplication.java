@@ -2,13 +2,15 @@ package com.bbeltranl.evaluation;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main class to start the Spring Boot application.
  * <p>
  * This class initializes and starts the Spring Boot application using the {@link SpringApplication} class.
  * It is annotated with {@link SpringBootApplication} to enable auto-configuration, component scanning, and
- * to indicate that it's the main entry point of the application.
+ * to indicate that it's the main entry point of the application. Scheduling is enabled for the periodic
+ * flushes of buffered writes.
  * </p>
  *
  * @author bbeltranl
@@ -16,6 +18,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since 2024-06-13
  */
 @SpringBootApplication
+@EnableScheduling
 public class EvaluationApplication {
 
 	/**
@@ -0,0 +1,121 @@
+package com.bbeltranl.evaluation.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process store of the responses of requests sent with an {@code Idempotency-Key}.
+ * <p>
+ * Each key maps to a future that the first request completes with its response, so requests repeating a key
+ * while the first one is still running wait for it instead of executing again. Entries are evicted by size and
+ * by time since the key was first seen, after which the key is treated as new.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class IdempotencyCache implements MeterBinder {
+
+    /**
+     * A response recorded for replay.
+     *
+     * @param status the HTTP status code.
+     * @param headers the response headers, by name.
+     * @param body the exact bytes of the response body.
+     * @param fingerprint the digest of the request body that produced the response.
+     */
+    public record StoredResponse(int status, Map<String, List<String>> headers, byte[] body, String fingerprint) {
+    }
+
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+
+    private final LongAdder replayed = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Creates the store with the given limits.
+     *
+     * @param maximumSize the maximum number of keys kept.
+     * @param expireAfterWrite how long a key is kept after it is first seen.
+     */
+    public IdempotencyCache(@Value("${custom.idempotency.maximum-size:10000}") long maximumSize,
+                            @Value("${custom.idempotency.expire-after-write:24h}") Duration expireAfterWrite) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Reserves a key for a request that is about to execute.
+     *
+     * @param key the idempotency key.
+     * @param pending the future the caller will complete with {@link #complete(String, CompletableFuture,
+     *                StoredResponse)} once it has a response.
+     * @return {@code null} if the key was free and is now reserved by the caller, or the future of the request
+     *         that holds the key, already completed if its response is stored.
+     */
+    public CompletableFuture<StoredResponse> reserve(String key, CompletableFuture<StoredResponse> pending) {
+        return responses.asMap().putIfAbsent(key, pending);
+    }
+
+    /**
+     * Completes a reservation. Without a response the key is released, and the requests waiting for it receive
+     * {@code null} so that one of them can reserve it again.
+     *
+     * @param key the idempotency key.
+     * @param pending the future passed to {@link #reserve(String, CompletableFuture)}.
+     * @param response the response to store, or {@code null} if it must not be replayed.
+     */
+    public void complete(String key, CompletableFuture<StoredResponse> pending, StoredResponse response) {
+        if (response == null) {
+            responses.asMap().remove(key, pending);
+        }
+        pending.complete(response);
+    }
+
+    /**
+     * Counts a replayed response.
+     *
+     * @param waited whether the request waited for the request holding the key to finish.
+     */
+    public void recordReplay(boolean waited) {
+        replayed.increment();
+        if (waited) {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * Registers the size of the store and the number of replayed and coalesced requests.
+     *
+     * @param registry the registry to bind the metrics to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("idempotency.keys", responses, Cache::estimatedSize)
+                .description("Idempotency keys whose response is stored or in progress")
+                .register(registry);
+        FunctionCounter.builder("idempotency.replayed", replayed, LongAdder::sum)
+                .description("Requests answered with the stored response of their idempotency key")
+                .register(registry);
+        FunctionCounter.builder("idempotency.coalesced", coalesced, LongAdder::sum)
+                .description("Replayed requests that arrived while the first request with their key was running")
+                .register(registry);
+    }
+}
@@ -0,0 +1,178 @@
+package com.bbeltranl.evaluation.cache;
+
+import com.bbeltranl.evaluation.dto.UserView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process read-through cache of {@link UserView} read models.
+ * <p>
+ * Users are cached by id. The email index only maps an email address to a user id, and an entry is only
+ * trusted if the cached user still has that email, so evicting a user by id is enough to invalidate both
+ * lookups. Entries are evicted by size and by time since they were written, and hit, miss and eviction
+ * statistics are recorded for both caches and published as {@code cache.*} metrics.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    /**
+     * Name of the cache of users by id.
+     */
+    public static final String BY_ID = "usersById";
+
+    /**
+     * Name of the cache of user ids by email.
+     */
+    public static final String BY_EMAIL = "usersByEmail";
+
+    private final Cache<UUID, UserView> byId;
+
+    private final Cache<String, UUID> byEmail;
+
+    /**
+     * Creates the cache with the given limits.
+     *
+     * @param maximumSize the maximum number of entries of each cache.
+     * @param expireAfterWrite how long an entry is kept after it has been loaded.
+     */
+    public UserCache(@Value("${custom.cache.users.maximum-size:10000}") long maximumSize,
+                     @Value("${custom.cache.users.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the user with the given id, loading and caching it on a miss.
+     *
+     * @param id the identifier of the user.
+     * @param loader the function that loads the user from the database.
+     * @return an {@link Optional} containing the user, or an empty {@link Optional} if it does not exist.
+     */
+    public Optional<UserView> getById(UUID id, Function<UUID, Optional<UserView>> loader) {
+        return Optional.ofNullable(byId.get(id, key -> {
+            UserView user = loader.apply(key).orElse(null);
+            if (user != null) {
+                byEmail.put(user.getEmail(), user.getId());
+            }
+            return user;
+        }));
+    }
+
+    /**
+     * Returns the user with the given email, loading and caching it on a miss.
+     * <p>
+     * The email is first resolved to an id and the user is then read through {@link #getById(UUID, Function)}, so
+     * it is loaded inside the cache entry of that id and an eviction that races with the load cannot be
+     * overwritten by the user it was meant to invalidate.
+     * </p>
+     *
+     * @param email the normalized email of the user.
+     * @param idLoader the function that loads the identifier of the user from the database.
+     * @param loader the function that loads the user from the database.
+     * @return an {@link Optional} containing the user, or an empty {@link Optional} if it does not exist.
+     */
+    public Optional<UserView> getByEmail(String email, Function<String, Optional<UUID>> idLoader,
+                                         Function<UUID, Optional<UserView>> loader) {
+        UUID id = byEmail.getIfPresent(email);
+        if (id != null) {
+            Optional<UserView> user = getById(id, loader);
+            if (user.isPresent() && email.equals(user.get().getEmail())) {
+                return user;
+            }
+            byEmail.invalidate(email);
+        }
+        return idLoader.apply(email)
+                .flatMap(key -> getById(key, loader))
+                .filter(user -> email.equals(user.getEmail()));
+    }
+
+    /**
+     * Returns the user with the given id only if it is cached, without loading it.
+     *
+     * @param id the identifier of the user.
+     * @return an {@link Optional} containing the cached user, or an empty {@link Optional} on a miss.
+     */
+    public Optional<UserView> getIfPresent(UUID id) {
+        return Optional.ofNullable(byId.getIfPresent(id));
+    }
+
+    /**
+     * Stores or refreshes a user in the cache.
+     *
+     * @param user the user to cache.
+     */
+    public void put(UserView user) {
+        byId.put(user.getId(), user);
+        byEmail.put(user.getEmail(), user.getId());
+    }
+
+    /**
+     * Removes a user from the cache.
+     *
+     * @param id the identifier of the user to remove.
+     */
+    public void evict(UUID id) {
+        byId.invalidate(id);
+    }
+
+    /**
+     * Registers the size, hit, miss and eviction metrics of both caches.
+     *
+     * @param registry the registry to bind the metrics to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, BY_ID);
+        CaffeineCacheMetrics.monitor(registry, byEmail, BY_EMAIL);
+    }
+
+    /**
+     * Returns the statistics of the caches, indexed by cache name.
+     *
+     * @return a {@link Map} with the hit, miss and eviction counters of each cache.
+     */
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put(BY_ID, byId.stats());
+        stats.put(BY_EMAIL, byEmail.stats());
+        return stats;
+    }
+
+    /**
+     * Returns the approximate number of entries of each cache, indexed by cache name.
+     *
+     * @return a {@link Map} with the size of each cache.
+     */
+    public Map<String, Long> sizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put(BY_ID, byId.estimatedSize());
+        sizes.put(BY_EMAIL, byEmail.estimatedSize());
+        return sizes;
+    }
+}
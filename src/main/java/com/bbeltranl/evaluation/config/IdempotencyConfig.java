@@ -0,0 +1,46 @@
+package com.bbeltranl.evaluation.config;
+
+import com.bbeltranl.evaluation.cache.IdempotencyCache;
+import com.bbeltranl.evaluation.web.IdempotencyFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the idempotent user registration.
+ * <p>
+ * The {@link IdempotencyFilter} is registered for {@code POST /users/}, so that retries of a registration
+ * carrying the same {@code Idempotency-Key} are answered with the first response instead of a 409.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IdempotencyConfig {
+
+    /**
+     * Registers the idempotency filter for the user registration endpoint.
+     *
+     * @param idempotencyCache the store of the responses.
+     * @param waitTimeout how long a request waits for the running request with the same key.
+     * @param maxBodySize the largest request body the filter buffers.
+     * @return the filter registration.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyCache idempotencyCache,
+            @Value("${custom.idempotency.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${custom.idempotency.max-body-size:64KB}") DataSize maxBodySize) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyCache, waitTimeout, Math.toIntExact(maxBodySize.toBytes())));
+        registration.addUrlPatterns("/users/");
+        return registration;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bbeltranl.evaluation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for issuing and verifying JWT tokens.
+ * <p>
+ * Several signing keys can be configured at once, identified by a key id ({@code kid}). New tokens are
+ * signed with the active key, while tokens signed with any other configured key are still accepted, which
+ * allows rotating keys without invalidating the tokens already issued.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@ConfigurationProperties(prefix = "custom.jwt")
+public class JwtProperties {
+
+    /**
+     * The key id used to sign new tokens. It must be one of the {@link #keys}.
+     */
+    private String activeKeyId = "default";
+
+    /**
+     * The Base64-encoded signing secrets, indexed by key id.
+     */
+    private Map<String, String> keys = new LinkedHashMap<>();
+
+    /**
+     * How long an issued token is valid.
+     */
+    private Duration expiration = Duration.ofDays(1);
+
+    /**
+     * Maximum number of recently verified tokens kept in memory.
+     */
+    private int verificationCacheSize = 10_000;
+
+    /**
+     * How long a verified token is trusted without checking its signature again.
+     */
+    private Duration verificationCacheTtl = Duration.ofMinutes(1);
+
+    /**
+     * Whether the {@code /users} endpoints require a valid bearer token.
+     */
+    private boolean filterEnabled = false;
+}
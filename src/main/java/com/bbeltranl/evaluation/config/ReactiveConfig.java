@@ -0,0 +1,59 @@
+package com.bbeltranl.evaluation.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Configuration of the reactive (WebFlux + R2DBC) variant of the API, active with the {@code reactive} profile.
+ * <p>
+ * The R2DBC transaction manager is not exposed as a bean, so that {@code @Transactional} never has two
+ * transaction managers to choose from; reactive writes use the {@link TransactionalOperator} instead.
+ * Netty is used as the server even though Tomcat is also on the classpath.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    /**
+     * Creates the client used by the reactive repository.
+     *
+     * @param connectionFactory the R2DBC connection factory.
+     * @return the database client.
+     */
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Creates the operator that runs reactive pipelines in an R2DBC transaction.
+     *
+     * @param connectionFactory the R2DBC connection factory.
+     * @return the transactional operator.
+     */
+    @Bean
+    public TransactionalOperator transactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * Selects Netty as the reactive web server.
+     *
+     * @return the Netty server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,40 @@
+package com.bbeltranl.evaluation.config;
+
+import com.bbeltranl.evaluation.security.JwtAuthenticationFilter;
+import com.bbeltranl.evaluation.service.TokenService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the token-based protection of the API.
+ * <p>
+ * The {@link JwtAuthenticationFilter} is only registered when {@code custom.jwt.filter-enabled} is
+ * {@code true}; it then protects every endpoint under {@code /users}.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Configuration
+@EnableConfigurationProperties(JwtProperties.class)
+public class SecurityConfig {
+
+    /**
+     * Registers the JWT authentication filter for the {@code /users} endpoints.
+     *
+     * @param tokenService the service used to verify tokens.
+     * @return the filter registration.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.jwt", name = "filter-enabled", havingValue = "true")
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilter(TokenService tokenService) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(new JwtAuthenticationFilter(tokenService));
+        registration.addUrlPatterns("/users/*");
+        return registration;
+    }
+}
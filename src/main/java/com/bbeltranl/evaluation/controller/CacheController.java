@@ -0,0 +1,53 @@
+package com.bbeltranl.evaluation.controller;
+
+import com.bbeltranl.evaluation.cache.UserCache;
+import com.bbeltranl.evaluation.dto.CacheStatsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CacheController is a REST controller that exposes the statistics of the in-process caches.
+ * <p>
+ * It is meant for tuning the size and expiration of the {@link UserCache}.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/cache")
+public class CacheController {
+
+    @Autowired
+    private UserCache userCache;
+
+    /**
+     * Retrieves the hit, miss and eviction statistics of the user caches.
+     *
+     * @return A ResponseEntity containing the statistics of each cache, indexed by cache name.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, CacheStatsResponse>> getStats() {
+        Map<String, Long> sizes = userCache.sizes();
+        Map<String, CacheStatsResponse> response = new LinkedHashMap<>();
+        userCache.stats().forEach((name, stats) -> {
+            CacheStatsResponse cacheStats = new CacheStatsResponse();
+            cacheStats.setSize(sizes.get(name));
+            cacheStats.setHits(stats.hitCount());
+            cacheStats.setMisses(stats.missCount());
+            cacheStats.setHitRate(stats.hitRate());
+            cacheStats.setEvictions(stats.evictionCount());
+            response.put(name, cacheStats);
+        });
+        return ResponseEntity.ok(response);
+    }
+}
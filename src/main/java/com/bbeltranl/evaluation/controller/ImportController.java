@@ -0,0 +1,94 @@
+package com.bbeltranl.evaluation.controller;
+
+import com.bbeltranl.evaluation.dto.ImportJob;
+import com.bbeltranl.evaluation.service.UserImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * ImportController is a REST controller that starts and follows bulk imports of users from files.
+ * <p>
+ * Imports run in the background: starting one returns {@code 202 Accepted} with the {@link ImportJob}, whose
+ * progress can then be polled at the URI of the {@code Location} header.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/users/imports")
+public class ImportController {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    /**
+     * Uploads a file and starts importing it.
+     *
+     * @param file The NDJSON or CSV file to import.
+     * @param format The format of the file, inferred from its extension when absent.
+     * @return {@link ResponseEntity} containing the started import with a 202 status code.
+     * @throws IOException if the file cannot be stored.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadImport(@RequestParam("file") MultipartFile file,
+                                          @RequestParam(required = false) ImportJob.Format format) throws IOException {
+        String source;
+        try (InputStream content = file.getInputStream()) {
+            source = userImportService.store(file.getOriginalFilename(), content);
+        }
+        return startImport(source, format, 0L);
+    }
+
+    /**
+     * Starts importing a file of the import directory.
+     *
+     * @param path The path of the file, relative to the import directory.
+     * @param format The format of the file, inferred from its extension when absent.
+     * @param offset The number of the first record to import; when absent, the import resumes from the
+     *               checkpoint of a previous import of the same file that did not complete.
+     * @return {@link ResponseEntity} containing the started import with a 202 status code,
+     *         or a JSON-formatted error message with a 400 status code if the file is not found,
+     *         or with a 409 status code if the file is already being imported.
+     */
+    @PostMapping(params = "path")
+    public ResponseEntity<?> startImport(@RequestParam String path,
+                                         @RequestParam(required = false) ImportJob.Format format,
+                                         @RequestParam(required = false) Long offset) {
+        try {
+            ImportJob job = userImportService.startImport(path, format, offset);
+            return ResponseEntity.accepted().location(URI.create("/users/imports/" + job.getId())).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"mensaje\": \"" + e.getMessage() + "\"}");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body("{\"mensaje\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Retrieves the state and progress of an import.
+     *
+     * @param id The unique identifier of the import.
+     * @return {@link ResponseEntity} containing the import,
+     *         or a JSON-formatted error message with a 404 status code if it does not exist.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getImport(@PathVariable UUID id) {
+        try {
+            return ResponseEntity.ok(userImportService.getJob(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body("{\"mensaje\": \"" + e.getMessage() + "\"}");
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.bbeltranl.evaluation.controller;
+
+import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.dto.UserResponse;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.exception.EmailConflictException;
+import com.bbeltranl.evaluation.exception.PreconditionFailedException;
+import com.bbeltranl.evaluation.model.User;
+import com.bbeltranl.evaluation.service.ReactiveUserService;
+import com.bbeltranl.evaluation.util.ETags;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Handler functions of the reactive {@code /users} API.
+ * <p>
+ * They mirror {@link UserController}: the same status codes, the same {@code {"mensaje": ...}} error bodies,
+ * the same field error map for invalid registrations and the same {@code ETag} handling.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserHandler {
+
+    @Autowired
+    private ReactiveUserService userService;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Creates a new user; returns 201 with the user, 400 with the field errors or 409 if the email exists.
+     *
+     * @param request the server request.
+     * @return the server response.
+     */
+    public Mono<ServerResponse> registerUser(ServerRequest request) {
+        return request.bodyToMono(UserRequest.class).flatMap(userRequest -> {
+            Set<ConstraintViolation<UserRequest>> violations = validator.validate(userRequest);
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new HashMap<>();
+                violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                return ServerResponse.badRequest().bodyValue(errors);
+            }
+            return userService.registerUser(userRequest)
+                    .flatMap(user -> ServerResponse.status(201).bodyValue(toResponse(user)))
+                    .onErrorResume(IllegalArgumentException.class, e -> error(409, e));
+        });
+    }
+
+    /**
+     * Creates several users; returns 200 with the result of each item, or 400 if the list is too large.
+     *
+     * @param request the server request.
+     * @return the server response.
+     */
+    public Mono<ServerResponse> registerUsers(ServerRequest request) {
+        return request.bodyToMono(new ParameterizedTypeReference<List<UserRequest>>() { })
+                .flatMap(userService::registerUsers)
+                .flatMap(results -> ServerResponse.ok().bodyValue(results))
+                .onErrorResume(IllegalArgumentException.class, e -> error(400, e));
+    }
+
+    /**
+     * Retrieves one page of users; returns 400 if the cursor is invalid.
+     *
+     * @param request the server request.
+     * @return the server response.
+     */
+    public Mono<ServerResponse> getAll(ServerRequest request) {
+        String cursor = request.queryParam("cursor").orElse(null);
+        Integer size;
+        try {
+            size = request.queryParam("size").map(Integer::valueOf).orElse(null);
+        } catch (NumberFormatException e) {
+            return error(400, e);
+        }
+        return userService.listPage(cursor, size)
+                .flatMap(page -> ServerResponse.ok().bodyValue(page))
+                .onErrorResume(IllegalArgumentException.class, e -> error(400, e));
+    }
+
+    /**
+     * Exports every user with its phones as newline-delimited JSON, streamed as the users are read.
+     *
+     * @param request the server request.
+     * @return the server response.
+     */
+    public Mono<ServerResponse> exportUsers(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService.exportUsers(), UserView.class);
+    }
+
+    /**
+     * Retrieves a user by id with its {@code ETag}; returns 304 if it matches {@code If-None-Match}, checking only
+     * the version of the user, or 404 if the user is not found.
+     *
+     * @param request the server request.
+     * @return the server response.
+     */
+    public Mono<ServerResponse> getUserById(ServerRequest request) {
+        return id(request)
+                .flatMap(id -> request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH) == null
+                        ? userService.getUserById(id).flatMap(ReactiveUserHandler::ok)
+                        : userService.getVersion(id)
+                                .flatMap(version -> request.checkNotModified(ETags.of(id, version)))
+                                .switchIfEmpty(Mono.defer(() -> userService.getUserById(id)
+                                        .flatMap(ReactiveUserHandler::ok))))
+                .onErrorResume(IllegalArgumentException.class, e -> error(404, e));
+    }
+
+    /**
+     * Retrieves a user by email with its {@code ETag}; returns 304 if it matches {@code If-None-Match}, or 404 if
+     * the user is not found.
+     *
+     * @param request the server request.
+     * @return the server response.
+     */
+    public Mono<ServerResponse> getUserByEmail(ServerRequest request) {
+        return Mono.justOrEmpty(request.queryParam("email"))
+                .flatMap(userService::getUserByEmail)
+                .flatMap(user -> request.checkNotModified(ETags.of(user))
+                        .switchIfEmpty(Mono.defer(() -> ok(user))))
+                .switchIfEmpty(ServerResponse.badRequest().build())
+                .onErrorResume(IllegalArgumentException.class, e -> error(404, e));
+    }
+
+    /**
+     * Deletes a user by id; returns 204, 412 if it does not match {@code If-Match}, or 404 if the user is not found.
+     *
+     * @param request the server request.
+     * @return the server response.
+     */
+    public Mono<ServerResponse> deleteUser(ServerRequest request) {
+        return id(request)
+                .flatMap(id -> ifMatch(request, id, expectedModified -> userService.deleteUserById(id, expectedModified)
+                        .then(ServerResponse.noContent().build())))
+                .onErrorResume(PreconditionFailedException.class, e -> error(412, e))
+                .onErrorResume(IllegalArgumentException.class, e -> error(404, e));
+    }
+
+    /**
+     * Partially updates a user by id; returns the user with its new {@code ETag}, 412 if it does not match
+     * {@code If-Match}, 409 if the new email is already registered, or 404 if the user is not found.
+     *
+     * @param request the server request.
+     * @return the server response.
+     */
+    public Mono<ServerResponse> updateUser(ServerRequest request) {
+        return id(request)
+                .zipWith(request.bodyToMono(UserRequest.class))
+                .flatMap(tuple -> ifMatch(request, tuple.getT1(), expectedModified ->
+                        userService.updateUser(tuple.getT1(), tuple.getT2(), expectedModified)
+                                .flatMap(ReactiveUserHandler::ok)))
+                .onErrorResume(PreconditionFailedException.class, e -> error(412, e))
+                .onErrorResume(EmailConflictException.class, e -> error(409, e))
+                .onErrorResume(IllegalArgumentException.class, e -> error(404, e));
+    }
+
+    /**
+     * Answers a request whose work was rejected because a bounded worker pool, such as the password hashing
+     * pool, is saturated.
+     *
+     * @param e the {@link java.util.concurrent.RejectedExecutionException} that was raised.
+     * @param request the request.
+     * @return a {@code 503} response with a {@code Retry-After} header.
+     */
+    public Mono<ServerResponse> overloaded(Throwable e, ServerRequest request) {
+        return ServerResponse.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"mensaje\": \"" + e.getMessage() + "\"}");
+    }
+
+    /**
+     * Runs a write, first evaluating the {@code If-Match} header of the request against the current version
+     * of the user when present.
+     *
+     * @param request the server request.
+     * @param id the identifier of the user.
+     * @param write the write, given the version it must apply to, or {@code null} without {@code If-Match}.
+     * @return the response of the write, or a 412 response if the user does not match {@code If-Match}.
+     */
+    private Mono<ServerResponse> ifMatch(ServerRequest request, UUID id, Function<Date, Mono<ServerResponse>> write) {
+        if (request.headers().firstHeader(HttpHeaders.IF_MATCH) == null) {
+            return write.apply(null);
+        }
+        return userService.getVersion(id)
+                .flatMap(version -> request.checkNotModified(ETags.of(id, version))
+                        .switchIfEmpty(Mono.defer(() -> write.apply(version.getModified()))));
+    }
+
+    private static Mono<ServerResponse> ok(UserView user) {
+        return ServerResponse.ok().eTag(ETags.of(user)).bodyValue(user);
+    }
+
+    private static Mono<UUID> id(ServerRequest request) {
+        return Mono.fromCallable(() -> UUID.fromString(request.pathVariable("id")))
+                .onErrorMap(IllegalArgumentException.class, e -> new IllegalArgumentException("Usuario no encontrado"));
+    }
+
+    private static UserResponse toResponse(User user) {
+        UserResponse response = new UserResponse();
+        response.setId(user.getId());
+        response.setCreated(user.getCreated());
+        response.setModified(user.getModified());
+        response.setLastLogin(user.getLastLogin());
+        response.setToken(user.getToken());
+        response.setIsActive(user.isActive());
+        return response;
+    }
+
+    private static Mono<ServerResponse> error(int status, Exception e) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"mensaje\": \"" + e.getMessage() + "\"}");
+    }
+}
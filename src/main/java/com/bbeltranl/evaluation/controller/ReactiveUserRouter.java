@@ -0,0 +1,45 @@
+package com.bbeltranl.evaluation.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Routes of the reactive {@code /users} API, with the same paths as {@link UserController}.
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserRouter {
+
+    /**
+     * Maps the {@code /users} endpoints to the {@link ReactiveUserHandler}.
+     *
+     * @param handler the handler of the endpoints.
+     * @return the router function.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(ReactiveUserHandler handler) {
+        return route()
+                .path("/users", builder -> builder
+                        .POST("/", handler::registerUser)
+                        .POST("/batch", handler::registerUsers)
+                        .GET("/", handler::getAll)
+                        .GET("/by-email", handler::getUserByEmail)
+                        .GET("/export", handler::exportUsers)
+                        .GET("/{id}", handler::getUserById)
+                        .DELETE("/{id}", handler::deleteUser)
+                        .PATCH("/{id}", handler::updateUser))
+                .onError(RejectedExecutionException.class, handler::overloaded)
+                .build();
+    }
+}
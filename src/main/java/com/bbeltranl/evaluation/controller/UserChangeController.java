@@ -0,0 +1,47 @@
+package com.bbeltranl.evaluation.controller;
+
+import com.bbeltranl.evaluation.feed.UserChangeFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * UserChangeController is a REST controller that streams the changes made to users.
+ * <p>
+ * Consumers that mirror the users subscribe to the {@link UserChangeFeed} instead of listing every user again, and
+ * resume from the offset of the last event they applied after a disconnection.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/users")
+public class UserChangeController {
+
+    @Autowired
+    private UserChangeFeed userChangeFeed;
+
+    /**
+     * Streams the created, updated and deleted users as Server-Sent Events, each with its offset as event id.
+     *
+     * @param after The offset of the last event the consumer applied; when absent, the {@code Last-Event-ID} header
+     *              sent by reconnecting clients is used, and without either only new changes are streamed.
+     * @param lastEventId The {@code Last-Event-ID} header.
+     * @return the event stream; a {@code reset} event is sent instead when the requested offset is no longer
+     *         available.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long after,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return userChangeFeed.subscribe(after != null ? after : lastEventId);
+    }
+}
@@ -1,14 +1,32 @@
 package com.bbeltranl.evaluation.controller;
 
+import com.bbeltranl.evaluation.dto.BatchItemResult;
+import com.bbeltranl.evaluation.dto.CursorPage;
+import com.bbeltranl.evaluation.dto.LoginRequest;
 import com.bbeltranl.evaluation.dto.UserResponse;
+import com.bbeltranl.evaluation.dto.UserSearchCriteria;
+import com.bbeltranl.evaluation.dto.UserVersion;
+import com.bbeltranl.evaluation.dto.UserView;
 import com.bbeltranl.evaluation.model.User;
 import com.bbeltranl.evaluation.service.UserService;
 import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.util.ETags;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,18 +41,28 @@ import java.util.UUID;
  * The class uses annotations from the Spring Framework to define its
  * RESTful nature and handle HTTP requests.
  * </p>
+ * <p>
+ * Single-user responses carry a strong {@code ETag} derived from the user's id and {@code modified}
+ * timestamp (see {@link ETags}). {@code If-None-Match} on reads is answered with 304 without serializing the
+ * user, and {@code If-Match} on {@code PATCH} and {@code DELETE} makes the write conditional, answering 412
+ * when the user has changed.
+ * </p>
  *
  * @author bbeltranl
  * @version 1.0
  * @since 2024-06-13
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/users")
 public class UserController {
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Creates a new user with the provided details.
      *
@@ -62,29 +90,155 @@ public class UserController {
     }
 
     /**
-     * Retrieves a list of all users.
+     * Creates several users in a single request.
+     *
+     * @param requests The list of users to create.
+     * @return {@link ResponseEntity} containing the result of each user, in the same order as the request,
+     *      or a JSON-formatted error message with a 400 status code if the list is too large.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> registerUsers(@RequestBody List<UserRequest> requests) {
+        try {
+            List<BatchItemResult> results = userService.registerUsers(requests);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"mensaje\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Logs a user in.
+     *
+     * @param request The email address and password of the user.
+     * @return {@link ResponseEntity} containing the user with its new last-login timestamp and a new token,
+     *      or a JSON-formatted error message with a 401 status code if the credentials are invalid.
+     */
+    @PostMapping("/login")
+    public ResponseEntity<?> login(@RequestBody @Valid LoginRequest request) {
+        try {
+            return ResponseEntity.ok(userService.login(request.getEmail(), request.getPassword()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(401).body("{\"mensaje\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Searches users by name prefix, email domain, phone country and city code, and active flag.
+     *
+     * @param criteria The filters of the search, taken from the query parameters {@code name}, {@code emailDomain},
+     *                 {@code countryCode}, {@code cityCode} and {@code active}.
+     * @param cursor The continuation token returned by the previous page, absent for the first page.
+     * @param size The requested page size, capped by the server.
+     * @return {@link ResponseEntity} containing the page of matching users and the cursor of the next page,
+     *         or a JSON-formatted error message with a 400 status code if the cursor is invalid.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(UserSearchCriteria criteria,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(userService.search(criteria, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"mensaje\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Retrieves one page of users.
      *
-     * @return A ResponseEntity containing a list of all users.
+     * @param cursor The continuation token returned by the previous page, absent for the first page.
+     * @param size The requested page size, capped by the server.
+     * @return {@link ResponseEntity} containing the page of users and the cursor of the next page,
+     *         or a JSON-formatted error message with a 400 status code if the cursor is invalid.
      */
     @GetMapping("/")
-    public ResponseEntity<List<User>> getAll() {
-        List<User> users = userService.listAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getAll(@RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<UserView> users = userService.listPage(cursor, size);
+            return ResponseEntity.ok(users);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("{\"mensaje\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Exports every user with its phones as newline-delimited JSON, one user per line.
+     * <p>
+     * Each user is written to the response as soon as it is read from the database, so the memory used
+     * does not depend on the number of users.
+     * </p>
+     *
+     * @param response The response the users are written to.
+     * @throws IOException if the response cannot be written, for instance because the client disconnected.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        ObjectWriter writer = objectMapper.writerFor(UserView.class);
+        try {
+            userService.exportUsers(user -> {
+                try {
+                    out.write(writer.writeValueAsBytes(user));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
     }
 
     /**
      * Endpoint to retrieve a user by their unique identifier (UUID).
+     * <p>
+     * When the request has an {@code If-None-Match} header, only the version of the user is looked up
+     * before answering 304, so an unchanged user is neither loaded nor serialized.
+     * </p>
      *
      * @param id The unique identifier of the user to retrieve.
-     * @return {@link ResponseEntity} containing the requested user if found,
+     * @param webRequest The current request, used to evaluate its conditional headers.
+     * @return {@link ResponseEntity} containing the requested user and its {@code ETag} if found, no body with a
+     *         304 status code if the client's copy is current,
      *         or a JSON-formatted error message with a 404 status code if the user is not found.
      *
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getUserById(@PathVariable UUID id) {
+    public ResponseEntity<?> getUserById(@PathVariable UUID id, WebRequest webRequest) {
         try {
-            User user = userService.getUserById(id);
-            return ResponseEntity.ok(user);
+            if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                    && webRequest.checkNotModified(ETags.of(id, userService.getVersion(id)))) {
+                return null;
+            }
+            UserView user = userService.getUserById(id);
+            return ResponseEntity.ok().eTag(ETags.of(user)).body(user);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body("{\"mensaje\": \"" + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Endpoint to retrieve a user by their email address.
+     *
+     * @param email The email address of the user to retrieve.
+     * @param webRequest The current request, used to evaluate its conditional headers.
+     * @return {@link ResponseEntity} containing the requested user and its {@code ETag} if found, no body with a
+     *         304 status code if the client's copy is current,
+     *         or a JSON-formatted error message with a 404 status code if the user is not found.
+     *
+     */
+    @GetMapping("/by-email")
+    public ResponseEntity<?> getUserByEmail(@RequestParam String email, WebRequest webRequest) {
+        try {
+            UserView user = userService.getUserByEmail(email);
+            String eTag = ETags.of(user);
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(eTag).body(user);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body("{\"mensaje\": \"" + e.getMessage() + "\"}");
         }
@@ -94,14 +248,24 @@ public class UserController {
      * Endpoint to delete a user by their unique identifier (UUID).
      *
      * @param id The unique identifier of the user to be deleted.
+     * @param webRequest The current request, used to evaluate its {@code If-Match} header.
      * @return {@link ResponseEntity} with a status of 204 No Content if the deletion is successful,
+     *         no body with a 412 status code if the user does not match {@code If-Match},
      *         or a JSON-formatted error message with a 404 status code if the user is not found.
      *
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteUser(@PathVariable UUID id) {
+    public ResponseEntity<String> deleteUser(@PathVariable UUID id, WebRequest webRequest) {
         try {
-            userService.deleteUserById(id);
+            Date expectedModified = null;
+            if (webRequest.getHeader(HttpHeaders.IF_MATCH) != null) {
+                UserVersion version = userService.getVersion(id);
+                if (webRequest.checkNotModified(ETags.of(id, version))) {
+                    return null;
+                }
+                expectedModified = version.getModified();
+            }
+            userService.deleteUserById(id, expectedModified);
             return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body("{\"mensaje\": \"" + e.getMessage() + "\"}");
@@ -113,15 +277,27 @@ public class UserController {
      *
      * @param id The unique identifier of the user to be updated.
      * @param userRequest The request body containing the fields to update in the user.
-     * @return {@link ResponseEntity} containing the updated user if the update is successful,
-     *         or a JSON-formatted error message with a 404 status code if the user is not found.
+     * @param webRequest The current request, used to evaluate its {@code If-Match} header.
+     * @return {@link ResponseEntity} containing the updated user and its new {@code ETag} if the update is
+     *         successful, no body with a 412 status code if the user does not match {@code If-Match},
+     *         or a JSON-formatted error message with a 404 status code if the user is not found, or with a
+     *         409 status code if the new email is already registered.
      *
      */
     @PatchMapping("/{id}")
-    public ResponseEntity<?> updateUser(@PathVariable UUID id, @RequestBody UserRequest userRequest) {
+    public ResponseEntity<?> updateUser(@PathVariable UUID id, @RequestBody UserRequest userRequest,
+                                        WebRequest webRequest) {
         try {
-            User user = userService.updateUser(id, userRequest);
-            return ResponseEntity.ok(user);
+            Date expectedModified = null;
+            if (webRequest.getHeader(HttpHeaders.IF_MATCH) != null) {
+                UserVersion version = userService.getVersion(id);
+                if (webRequest.checkNotModified(ETags.of(id, version))) {
+                    return null;
+                }
+                expectedModified = version.getModified();
+            }
+            UserView user = userService.updateUser(id, userRequest, expectedModified);
+            return ResponseEntity.ok().eTag(ETags.of(user)).body(user);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body("{\"mensaje\": \"" + e.getMessage() + "\"}");
         }
@@ -0,0 +1,43 @@
+package com.bbeltranl.evaluation.controller;
+
+import com.bbeltranl.evaluation.dto.UserStatsResponse;
+import com.bbeltranl.evaluation.repository.UserStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * UserStatsController is a REST controller that exposes the aggregate statistics of the users.
+ * <p>
+ * The statistics come from the {@link UserStatistics} counters, so dashboards no longer need to download every
+ * user, and reading them never queries the database.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Profile("!memory")
+@RequestMapping("/users")
+public class UserStatsController {
+
+    @Autowired
+    private UserStatistics userStatistics;
+
+    /**
+     * Retrieves the number of users, of active users, of users by phone country code and of registrations in
+     * each of the last hours.
+     *
+     * @return A ResponseEntity containing the statistics and when they were last reconciled with the database.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<UserStatsResponse> getStats() {
+        return ResponseEntity.ok(userStatistics.snapshot());
+    }
+}
@@ -0,0 +1,58 @@
+package com.bbeltranl.evaluation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The BatchItemResult class represents the outcome of one user in a bulk registration.
+ * <p>
+ * Each item of the request produces one result, in the same order, carrying the HTTP status the
+ * item would have received if it had been registered on its own.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    /**
+     * The position of the item in the request list.
+     */
+    private int index;
+
+    /**
+     * The status of the item: 201 if created, 400 if invalid or 409 if the email is already registered.
+     */
+    private int status;
+
+    /**
+     * The email of the item, normalized as stored.
+     */
+    private String email;
+
+    /**
+     * The unique identifier of the created user.
+     */
+    private UUID id;
+
+    /**
+     * The authentication token of the created user.
+     */
+    private String token;
+
+    /**
+     * The error message of a rejected item.
+     */
+    private String mensaje;
+
+    /**
+     * The field validation errors of an invalid item.
+     */
+    private Map<String, String> errors;
+}
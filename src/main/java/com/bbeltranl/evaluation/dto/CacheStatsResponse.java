@@ -0,0 +1,39 @@
+package com.bbeltranl.evaluation.dto;
+
+import lombok.Data;
+
+/**
+ * The CacheStatsResponse class represents the statistics of one in-process cache.
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+public class CacheStatsResponse {
+
+    /**
+     * The approximate number of entries in the cache.
+     */
+    private long size;
+
+    /**
+     * The number of lookups that found an entry.
+     */
+    private long hits;
+
+    /**
+     * The number of lookups that did not find an entry.
+     */
+    private long misses;
+
+    /**
+     * The ratio of hits over all lookups.
+     */
+    private double hitRate;
+
+    /**
+     * The number of entries evicted by size or expiration.
+     */
+    private long evictions;
+}
@@ -0,0 +1,35 @@
+package com.bbeltranl.evaluation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The CursorPage class represents one page of a keyset-paginated listing.
+ * <p>
+ * Besides the items of the page it carries an opaque {@code nextCursor} that the client sends back
+ * to retrieve the following page. When {@code nextCursor} is {@code null} there are no more items.
+ * </p>
+ *
+ * @param <T> the type of the items contained in the page.
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * The items of the current page, in stable order.
+     */
+    private List<T> items;
+
+    /**
+     * The opaque continuation token for the next page, or {@code null} if this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,112 @@
+package com.bbeltranl.evaluation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * The ImportJob class represents the state and progress of a bulk import of users from a file.
+ * <p>
+ * Records are numbered from {@code 0} in the order they appear in the file, ignoring blank lines and the
+ * header of CSV files. The counters are updated by the import while it runs, after every chunk that has
+ * been written, so they can be polled to follow its progress.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJob {
+
+    /**
+     * The state of an import.
+     */
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * The format of an import file.
+     */
+    public enum Format {
+        /**
+         * One JSON user per line, with the fields of {@link UserRequest}.
+         */
+        NDJSON,
+        /**
+         * A header line followed by one user per line, with {@code name}, {@code email}, {@code password} and
+         * {@code phones} columns; phones are written as {@code number:cityCode:countryCode} separated by
+         * {@code ;}.
+         */
+        CSV
+    }
+
+    /**
+     * The unique identifier of the import.
+     */
+    private UUID id;
+
+    /**
+     * The name of the imported file, relative to the import directory.
+     */
+    private String source;
+
+    /**
+     * The format of the imported file.
+     */
+    private Format format;
+
+    /**
+     * The state of the import.
+     */
+    private volatile Status status;
+
+    /**
+     * The number of the first record processed by this run; earlier records are skipped.
+     */
+    private long startOffset;
+
+    /**
+     * The number of records processed so far by this run.
+     */
+    private volatile long processed;
+
+    /**
+     * The number of users registered so far by this run.
+     */
+    private volatile long imported;
+
+    /**
+     * The number of records rejected so far by this run.
+     */
+    private volatile long rejected;
+
+    /**
+     * The number of the first record not yet processed; an interrupted import resumes from it.
+     */
+    private volatile long checkpoint;
+
+    /**
+     * The name of the file the rejected records are written to, relative to the import directory.
+     */
+    private String rejectedFile;
+
+    /**
+     * The error that stopped a failed import.
+     */
+    private volatile String error;
+
+    /**
+     * The date and time when the import started.
+     */
+    private Date started;
+
+    /**
+     * The date and time when the import finished.
+     */
+    private volatile Date finished;
+}
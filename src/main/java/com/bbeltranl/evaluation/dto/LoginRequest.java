@@ -0,0 +1,29 @@
+package com.bbeltranl.evaluation.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * The LoginRequest class represents the credentials sent by a user to log in.
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LoginRequest {
+
+    /**
+     * The email address of the user.
+     */
+    @NotBlank(message = "Email requerido")
+    private String email;
+
+    /**
+     * The password of the user.
+     */
+    @NotBlank(message = "La contraseña es requerida")
+    private String password;
+}
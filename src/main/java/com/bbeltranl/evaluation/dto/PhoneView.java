@@ -0,0 +1,46 @@
+package com.bbeltranl.evaluation.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * The PhoneView class is the read model of a phone returned by the user read endpoints.
+ * <p>
+ * It is built directly from a projection query, so no {@link com.bbeltranl.evaluation.model.Phone}
+ * entity is loaded to produce it.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PhoneView {
+
+    /**
+     * The identifier of the user that owns the phone, used to group phones by user; it is not serialized.
+     */
+    @JsonIgnore
+    private UUID userId;
+
+    /**
+     * The phone number.
+     */
+    private String number;
+
+    /**
+     * The city code of the phone number.
+     */
+    private String cityCode;
+
+    /**
+     * The country code of the phone number.
+     */
+    private String countryCode;
+}
@@ -0,0 +1,58 @@
+package com.bbeltranl.evaluation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * The UserChangeEvent class is one entry of the user change feed.
+ * <p>
+ * Each committed registration, update or deletion of a user produces one event. Created and updated events carry
+ * the {@link UserView} of the user after the change, so a consumer can apply them without reading the user again;
+ * deleted events only carry its identifier.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangeEvent {
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    /**
+     * The position of the event in the feed; offsets only grow, and consecutive events have consecutive offsets.
+     */
+    private long offset;
+
+    /**
+     * The kind of change.
+     */
+    private Type type;
+
+    /**
+     * The unique identifier of the changed user.
+     */
+    private UUID userId;
+
+    /**
+     * The timestamp when the change was committed.
+     */
+    private Date timestamp;
+
+    /**
+     * The user after the change, or {@code null} for a deletion.
+     */
+    private UserView user;
+}
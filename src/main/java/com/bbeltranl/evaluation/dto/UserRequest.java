@@ -1,10 +1,10 @@
 package com.bbeltranl.evaluation.dto;
 
 import com.bbeltranl.evaluation.model.Phone;
+import com.bbeltranl.evaluation.validator.ValidEmail;
 import com.bbeltranl.evaluation.validator.ValidPassword;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
 import java.util.List;
@@ -35,7 +35,7 @@ public class UserRequest {
      * The email address of the user.
      */
     @NotBlank(message = "Email requerido")
-    @Pattern(regexp = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$", message = "Formato de correo electrónico inválido")
+    @ValidEmail
     //@Email(message = "Formato de correo electrónico inválido")
     private String email;
 
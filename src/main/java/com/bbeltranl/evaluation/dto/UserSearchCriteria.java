@@ -0,0 +1,42 @@
+package com.bbeltranl.evaluation.dto;
+
+import lombok.Data;
+
+/**
+ * The UserSearchCriteria class represents the filters of a user search.
+ * <p>
+ * Every filter is optional and the filters that are set must all match.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+public class UserSearchCriteria {
+
+    /**
+     * The beginning of the name of the user, matched case-insensitively.
+     */
+    private String name;
+
+    /**
+     * The domain of the email address of the user, the part after the {@code @}, matched case-insensitively.
+     */
+    private String emailDomain;
+
+    /**
+     * The country code of one of the phones of the user.
+     */
+    private String countryCode;
+
+    /**
+     * The city code of one of the phones of the user; with {@link #countryCode}, both must match the same phone.
+     */
+    private String cityCode;
+
+    /**
+     * Whether the user is active.
+     */
+    private Boolean active;
+}
@@ -0,0 +1,43 @@
+package com.bbeltranl.evaluation.dto;
+
+import lombok.Data;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * The UserStatsResponse class represents the aggregate statistics of the users.
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+public class UserStatsResponse {
+
+    /**
+     * The number of users.
+     */
+    private long total;
+
+    /**
+     * The number of active users.
+     */
+    private long active;
+
+    /**
+     * The number of users with at least one phone of each country code, by country code.
+     */
+    private Map<String, Long> byCountryCode;
+
+    /**
+     * The number of users created in each of the last hours, by the start of the hour; hours without
+     * registrations are omitted.
+     */
+    private Map<String, Long> registrationsPerHour;
+
+    /**
+     * The timestamp when the counters were last reconciled with the database.
+     */
+    private Date reconciledAt;
+}
@@ -0,0 +1,34 @@
+package com.bbeltranl.evaluation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * The UserVersion class holds the timestamps that identify the version of a {@link UserView}.
+ * <p>
+ * Updates change the {@code modified} timestamp, while logins only change the last-login timestamp, so both
+ * are needed to tell whether a representation of the user is still current.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserVersion {
+
+    /**
+     * The timestamp when the user's information was last modified.
+     */
+    private Date modified;
+
+    /**
+     * The timestamp of the user's last login.
+     */
+    private Date lastLogin;
+}
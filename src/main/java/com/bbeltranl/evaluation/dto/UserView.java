@@ -0,0 +1,122 @@
+package com.bbeltranl.evaluation.dto;
+
+import com.bbeltranl.evaluation.model.User;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The UserView class is the read model returned by the user read endpoints.
+ * <p>
+ * It only carries the columns the client needs; the password and the token are never part of it.
+ * Repositories build it with projection queries, so listing users does not hydrate managed entities.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Data
+@NoArgsConstructor
+public class UserView {
+
+    /**
+     * The unique identifier of the user.
+     */
+    private UUID id;
+
+    /**
+     * The name of the user.
+     */
+    private String name;
+
+    /**
+     * The email address of the user, normalized as stored.
+     */
+    private String email;
+
+    /**
+     * The timestamp when the user was created.
+     */
+    private Date created;
+
+    /**
+     * The timestamp when the user's information was last modified.
+     */
+    private Date modified;
+
+    /**
+     * The timestamp of the user's last login.
+     */
+    private Date lastLogin;
+
+    /**
+     * Indicates whether the user is currently active.
+     */
+    private boolean isActive;
+
+    /**
+     * The phones of the user.
+     */
+    private List<PhoneView> phones = new ArrayList<>();
+
+    /**
+     * Creates a view without phones; this is the constructor used by projection queries.
+     *
+     * @param id the unique identifier of the user.
+     * @param name the name of the user.
+     * @param email the email address of the user.
+     * @param created the timestamp when the user was created.
+     * @param modified the timestamp when the user was last modified.
+     * @param lastLogin the timestamp of the user's last login.
+     * @param isActive whether the user is active.
+     */
+    public UserView(UUID id, String name, String email, Date created, Date modified, Date lastLogin,
+                    boolean isActive) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.created = created;
+        this.modified = modified;
+        this.lastLogin = lastLogin;
+        this.isActive = isActive;
+    }
+
+    /**
+     * Builds the view of a user entity whose phones are already loaded.
+     *
+     * @param user the user entity.
+     * @return the view of the user.
+     */
+    public static UserView from(User user) {
+        UserView view = new UserView(user.getId(), user.getName(), user.getEmail(), user.getCreated(),
+                user.getModified(), user.getLastLogin(), user.isActive());
+        if (user.getPhones() != null) {
+            user.getPhones().forEach(phone -> view.getPhones().add(
+                    new PhoneView(user.getId(), phone.getNumber(), phone.getCityCode(), phone.getCountryCode())));
+        }
+        return view;
+    }
+
+    /**
+     * Sets the user's active status.
+     *
+     * @param active the active status to set.
+     */
+    public void setIsActive(boolean active) {
+        isActive = active;
+    }
+
+    /**
+     * Indicates whether the user is currently active.
+     *
+     * @return true if the user is active, false otherwise.
+     */
+    public boolean getIsActive() {
+        return isActive;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bbeltranl.evaluation.exception;
+
+/**
+ * Exception thrown when an update would give a user an email address that is already registered by another
+ * user.
+ * <p>
+ * It is answered with {@code 409 CONFLICT}, like a registration with a taken email.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class EmailConflictException extends RuntimeException {
+
+    /**
+     * Creates the exception with the default message.
+     */
+    public EmailConflictException() {
+        super("El correo ya registrado");
+    }
+}
@@ -2,15 +2,19 @@ package com.bbeltranl.evaluation.exception;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * GlobalExceptionHandler is a central class for handling exceptions across the whole application.
@@ -65,4 +69,73 @@ public class GlobalExceptionHandler {
         }
         return ResponseEntity.badRequest().body(errors);
     }
-}
\ No newline at end of file
+
+    /**
+     * Handles conditional writes rejected because the user changed after the version the client expected.
+     * <p>
+     * This method catches {@link PreconditionFailedException} exceptions and returns a
+     * {@code 412 PRECONDITION FAILED} response, so the client can read the user again and retry.
+     * </p>
+     *
+     * @param ex the exception thrown when the precondition of the request does not hold
+     * @return a {@link ResponseEntity} containing the message of the exception
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailedException(PreconditionFailedException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"mensaje\": \"" + ex.getMessage() + "\"}");
+    }
+
+    /**
+     * Handles updates rejected because the new email address of the user is already registered.
+     * <p>
+     * This method catches {@link EmailConflictException} exceptions and returns a {@code 409 CONFLICT}
+     * response, the same answer a registration with a taken email gets.
+     * </p>
+     *
+     * @param ex the exception thrown when the email address is already registered
+     * @return a {@link ResponseEntity} containing the message of the exception
+     */
+    @ExceptionHandler(EmailConflictException.class)
+    public ResponseEntity<String> handleEmailConflictException(EmailConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"mensaje\": \"" + ex.getMessage() + "\"}");
+    }
+
+    /**
+     * Handles uploads larger than {@code custom.import.max-upload-size}.
+     * <p>
+     * It returns a {@code 413 PAYLOAD TOO LARGE} response, so the file can be split or imported from the import
+     * directory instead.
+     * </p>
+     *
+     * @param ex the exception thrown when the upload exceeds the limit
+     * @return a {@link ResponseEntity} containing the error message
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<String> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"mensaje\": \"El archivo supera el tamaño máximo permitido\"}");
+    }
+
+    /**
+     * Handles work rejected because a bounded worker pool, such as the password hashing pool, is saturated.
+     * <p>
+     * It returns a {@code 503 SERVICE UNAVAILABLE} response with a {@code Retry-After} header, so clients
+     * back off instead of queueing more work.
+     * </p>
+     *
+     * @param ex the exception thrown when the work was rejected
+     * @return a {@link ResponseEntity} containing the message of the exception
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedExecutionException(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"mensaje\": \"" + ex.getMessage() + "\"}");
+    }
+}
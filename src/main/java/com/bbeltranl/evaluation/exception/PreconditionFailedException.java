@@ -0,0 +1,22 @@
+package com.bbeltranl.evaluation.exception;
+
+/**
+ * Exception thrown when a conditional write is rejected because the user was modified after the version the
+ * client expected.
+ * <p>
+ * It is answered with {@code 412 PRECONDITION FAILED}.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Creates the exception with the default message.
+     */
+    public PreconditionFailedException() {
+        super("El usuario fue modificado por otra solicitud");
+    }
+}
@@ -0,0 +1,326 @@
+package com.bbeltranl.evaluation.feed;
+
+import com.bbeltranl.evaluation.dto.UserChangeEvent;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.util.AfterTransaction;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory feed of the changes made to users, streamed to subscribers as Server-Sent Events.
+ * <p>
+ * The last {@code custom.feed.capacity} events are kept in a ring buffer, each with an offset one higher than the
+ * previous one, so a consumer that remembers the offset of the last event it applied can resume from there instead
+ * of listing every user again. Offsets start from the wall-clock time in microseconds when the application starts,
+ * so they keep growing across restarts. Events are only published once the transaction of the change has committed
+ * (see {@link #publishAfterCommit(UserChangeEvent.Type, UUID, UserView)}), so a rolled-back change is never seen.
+ * </p>
+ * <p>
+ * Events and heartbeats are sent to each subscriber by a virtual thread of its own, never by the thread that made
+ * the change. At most one such thread runs per subscriber, so sends to one client stay in order, and a client that
+ * stops reading only blocks its own thread rather than delivery to everyone else. A subscriber asking for an offset
+ * that is no longer in the buffer, or that falls so far behind that its next event is overwritten, receives a
+ * {@value #RESET_EVENT} event carrying the current offset and is disconnected; it must list the users again and
+ * resume from that offset. The feed only holds the changes made by this instance.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+@Profile("!reactive")
+public class UserChangeFeed implements MeterBinder {
+
+    /**
+     * Name of the events that carry a change.
+     */
+    public static final String CHANGE_EVENT = "change";
+
+    /**
+     * Name of the event sent to a subscriber whose position is no longer in the buffer.
+     */
+    public static final String RESET_EVENT = "reset";
+
+    private static final int DISPATCH_BATCH = 256;
+
+    /**
+     * A connected consumer and the offset of the next event it must receive, only used by its delivery thread.
+     */
+    private static final class Subscription {
+
+        private final SseEmitter emitter;
+
+        private long next;
+
+        /**
+         * Number of times delivery was requested since the delivery thread last caught up; it is running while
+         * this is not zero.
+         */
+        private final AtomicInteger wakeups = new AtomicInteger();
+
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        private Subscription(SseEmitter emitter, long next) {
+            this.emitter = emitter;
+            this.next = next;
+        }
+    }
+
+    private final UserChangeEvent[] ring;
+
+    private final long firstOffset;
+
+    private long head;
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService dispatcher =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-feed-", 0).factory());
+
+    private final LongAdder published = new LongAdder();
+
+    private final LongAdder resets = new LongAdder();
+
+    private final Duration emitterTimeout;
+
+    /**
+     * Creates the feed.
+     *
+     * @param capacity the number of events kept for subscribers to resume from.
+     * @param emitterTimeout how long a subscription stays open before the client has to reconnect.
+     */
+    public UserChangeFeed(@Value("${custom.feed.capacity:10000}") int capacity,
+                          @Value("${custom.feed.emitter-timeout:30m}") Duration emitterTimeout) {
+        this.ring = new UserChangeEvent[capacity];
+        this.firstOffset = System.currentTimeMillis() * 1000;
+        this.head = firstOffset;
+        this.emitterTimeout = emitterTimeout;
+    }
+
+    /**
+     * Publishes a change once the current transaction commits; it is discarded if the transaction rolls back.
+     * Without a transaction, the change is considered committed and published right away.
+     *
+     * @param type the kind of change.
+     * @param userId the identifier of the changed user.
+     * @param user the user after the change, or {@code null} for a deletion.
+     */
+    public void publishAfterCommit(UserChangeEvent.Type type, UUID userId, UserView user) {
+        AfterTransaction.commit(() -> publish(type, userId, user));
+    }
+
+    /**
+     * Appends a change to the buffer, overwriting the oldest event when it is full, and wakes the subscribers.
+     *
+     * @param type the kind of change.
+     * @param userId the identifier of the changed user.
+     * @param user the user after the change, or {@code null} for a deletion.
+     * @return the published event, with its offset.
+     */
+    public UserChangeEvent publish(UserChangeEvent.Type type, UUID userId, UserView user) {
+        UserChangeEvent event;
+        synchronized (this) {
+            event = new UserChangeEvent(head, type, userId, new Date(), user);
+            ring[(int) (head % ring.length)] = event;
+            head++;
+        }
+        published.increment();
+        subscriptions.forEach(this::schedule);
+        return event;
+    }
+
+    /**
+     * Reads the events that follow an offset.
+     *
+     * @param after the offset of the last event the caller has, or {@link #lastOffset()} to read nothing.
+     * @param max the maximum number of events to return.
+     * @return an {@link Optional} containing the following events in offset order, possibly none, or empty if
+     *         events following {@code after} are no longer in the buffer or {@code after} is unknown.
+     */
+    public synchronized Optional<List<UserChangeEvent>> read(long after, int max) {
+        long from = after + 1;
+        if (from < Math.max(firstOffset, head - ring.length) || from > head) {
+            return Optional.empty();
+        }
+        int count = (int) Math.min(max, head - from);
+        List<UserChangeEvent> events = new ArrayList<>(count);
+        for (long offset = from; offset < from + count; offset++) {
+            events.add(ring[(int) (offset % ring.length)]);
+        }
+        return Optional.of(events);
+    }
+
+    /**
+     * Returns the offset of the last published event.
+     *
+     * @return the offset of the last event, or the offset just before the first one if none was published.
+     */
+    public synchronized long lastOffset() {
+        return head - 1;
+    }
+
+    /**
+     * Opens a subscription to the feed.
+     *
+     * @param after the offset of the last event the consumer applied, or {@code null} to receive only the events
+     *              published from now on.
+     * @return the emitter the events are sent through.
+     */
+    public SseEmitter subscribe(Long after) {
+        return subscribe(after, new SseEmitter(emitterTimeout.toMillis()));
+    }
+
+    /**
+     * Opens a subscription to the feed through the given emitter.
+     *
+     * @param after the offset of the last event the consumer applied, or {@code null}.
+     * @param emitter the emitter to send the events through.
+     * @return the emitter.
+     */
+    SseEmitter subscribe(Long after, SseEmitter emitter) {
+        Subscription subscription = new Subscription(emitter, (after == null ? lastOffset() : after) + 1);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        schedule(subscription);
+        return emitter;
+    }
+
+    /**
+     * Returns the number of open subscriptions.
+     *
+     * @return the number of subscribers.
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Sends a comment to every subscriber, so that idle connections are not closed by proxies and disconnected
+     * clients are detected.
+     */
+    @Scheduled(fixedDelayString = "${custom.feed.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            subscription.heartbeatDue.set(true);
+            schedule(subscription);
+        }
+    }
+
+    /**
+     * Stops the delivery threads and closes the subscriptions before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    /**
+     * Registers the {@code user.feed.*} metrics.
+     *
+     * @param registry the registry to bind to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.feed.subscribers", this, UserChangeFeed::subscriberCount)
+                .description("Open subscriptions to the user change feed")
+                .register(registry);
+        FunctionCounter.builder("user.feed.published", published, LongAdder::sum)
+                .description("User changes published to the feed")
+                .register(registry);
+        FunctionCounter.builder("user.feed.resets", resets, LongAdder::sum)
+                .description("Subscribers disconnected because their position was no longer in the feed")
+                .register(registry);
+    }
+
+    /**
+     * Wakes the delivery thread of a subscriber, starting one unless it is already running.
+     */
+    private void schedule(Subscription subscription) {
+        if (subscription.wakeups.getAndIncrement() == 0) {
+            try {
+                dispatcher.execute(() -> drain(subscription));
+            } catch (RejectedExecutionException e) {
+                // The feed is shutting down; there is nobody left to deliver to.
+            }
+        }
+    }
+
+    /**
+     * Delivers to a subscriber until it has caught up with every wakeup. Runs on its delivery thread.
+     */
+    private void drain(Subscription subscription) {
+        int wakeups = subscription.wakeups.get();
+        do {
+            if (!deliver(subscription)) {
+                return;
+            }
+            wakeups = subscription.wakeups.addAndGet(-wakeups);
+        } while (wakeups != 0);
+    }
+
+    /**
+     * Sends a subscriber its pending heartbeat and the events it has not received yet.
+     *
+     * @return {@code false} if the subscriber was disconnected.
+     */
+    private boolean deliver(Subscription subscription) {
+        try {
+            if (subscription.heartbeatDue.getAndSet(false)) {
+                subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            while (true) {
+                Optional<List<UserChangeEvent>> events = read(subscription.next - 1, DISPATCH_BATCH);
+                if (events.isEmpty()) {
+                    long offset = lastOffset();
+                    resets.increment();
+                    subscription.emitter.send(SseEmitter.event().name(RESET_EVENT)
+                            .id(Long.toString(offset)).data(offset));
+                    subscriptions.remove(subscription);
+                    subscription.emitter.complete();
+                    return false;
+                }
+                for (UserChangeEvent event : events.get()) {
+                    subscription.emitter.send(SseEmitter.event().name(CHANGE_EVENT)
+                            .id(Long.toString(event.getOffset())).data(event, MediaType.APPLICATION_JSON));
+                    subscription.next = event.getOffset() + 1;
+                }
+                if (events.get().size() < DISPATCH_BATCH) {
+                    return true;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscription, e);
+            return false;
+        }
+    }
+
+    private void drop(Subscription subscription, Exception cause) {
+        subscriptions.remove(subscription);
+        subscription.emitter.completeWithError(cause);
+    }
+}
@@ -0,0 +1,57 @@
+package com.bbeltranl.evaluation.metrics;
+
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds a {@code result} tag to the {@code http.server.requests} metrics.
+ * <p>
+ * The standard {@code outcome} tag only tells success from client or server errors. The {@code result} tag
+ * names the business outcome of the endpoints of this API ({@code created}, {@code conflict},
+ * {@code not_found}, {@code validation_error}, ...), so every branch of the controllers can be monitored
+ * on its own.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class OutcomeObservationConvention extends DefaultServerRequestObservationConvention {
+
+    /**
+     * Name of the tag added to the request metrics.
+     */
+    public static final String RESULT = "result";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        HttpServletResponse response = context.getResponse();
+        return super.getLowCardinalityKeyValues(context)
+                .and(RESULT, response == null ? "unknown" : result(response.getStatus()));
+    }
+
+    /**
+     * Maps the status of a response to the business outcome of the request.
+     *
+     * @param status the HTTP status of the response.
+     * @return the value of the {@code result} tag.
+     */
+    static String result(int status) {
+        return switch (status) {
+            case 201 -> "created";
+            case 204 -> "deleted";
+            case 400 -> "validation_error";
+            case 401 -> "unauthorized";
+            case 404 -> "not_found";
+            case 409 -> "conflict";
+            case 503 -> "overloaded";
+            default -> status >= 500 ? "server_error" : status >= 400 ? "client_error" : "success";
+        };
+    }
+}
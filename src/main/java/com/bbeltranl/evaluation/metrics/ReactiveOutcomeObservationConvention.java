@@ -0,0 +1,28 @@
+package com.bbeltranl.evaluation.metrics;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the {@code result} tag of {@link OutcomeObservationConvention} to the {@code http.server.requests}
+ * metrics of the reactive stack.
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveOutcomeObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        HttpStatusCode status = context.getResponse() == null ? null : context.getResponse().getStatusCode();
+        return super.getLowCardinalityKeyValues(context).and(OutcomeObservationConvention.RESULT,
+                status == null ? "unknown" : OutcomeObservationConvention.result(status.value()));
+    }
+}
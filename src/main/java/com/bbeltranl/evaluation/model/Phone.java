@@ -3,6 +3,7 @@ package com.bbeltranl.evaluation.model;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.UUID;
 
@@ -13,6 +14,10 @@ import java.util.UUID;
  * city code, and country code. It is annotated with JPA and Jackson annotations for
  * database persistence and JSON serialization/deserialization.
  * </p>
+ * <p>
+ * Phones are indexed by country and city code, with the identifier of their user, so users can be searched
+ * by where their phones are.
+ * </p>
  *
  * @author bbeltranl
  * @version 1.0
@@ -20,8 +25,10 @@ import java.util.UUID;
  */
 @Data
 @Entity
+@DynamicUpdate
 @JsonIgnoreProperties(ignoreUnknown = true)
-@Table(name = "phone")
+@Table(name = "phone",
+        indexes = @Index(name = "ix_phone_country_city", columnList = "country_code, city_code, user_id"))
 public class Phone {
 
     /**
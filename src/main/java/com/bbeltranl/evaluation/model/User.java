@@ -2,6 +2,8 @@ package com.bbeltranl.evaluation.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.Date;
 import java.util.List;
@@ -13,6 +15,10 @@ import java.util.UUID;
  * This class stores user-related information, including personal details and associated
  * phone numbers. It is annotated with JPA annotations for database persistence.
  * </p>
+ * <p>
+ * Updates only write the columns that actually changed. The lower-cased name and the email domain are
+ * computed by the database and indexed, together with the identifier, for the searches of support staff.
+ * </p>
  *
  * @author bbeltranl
  * @version 1.0
@@ -20,9 +26,18 @@ import java.util.UUID;
  */
 @Data
 @Entity
-@Table(name = "\"user\"")
+@DynamicUpdate
+@Table(name = "\"user\"", indexes = {
+        @Index(name = User.EMAIL_INDEX, columnList = "email", unique = true),
+        @Index(name = "ix_user_name_key", columnList = "name_key, id"),
+        @Index(name = "ix_user_email_domain", columnList = "email_domain, id")})
 public class User {
 
+    /**
+     * Name of the unique index over the normalized email address.
+     */
+    public static final String EMAIL_INDEX = "ux_user_email";
+
     /**
      * The unique identifier for the user entity.
      * <p>
@@ -40,9 +55,26 @@ public class User {
 
     /**
      * The email address of the user.
+     * <p>
+     * It is stored trimmed and lower-cased, so the unique index enforces case-insensitive uniqueness.
+     * </p>
      */
     private String email;
 
+    /**
+     * The lower-cased name, computed by the database, for case-insensitive prefix searches.
+     */
+    @Column(insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (lower(name))")
+    private String nameKey;
+
+    /**
+     * The part of the email address after the {@code @}, computed by the database, for searches by domain.
+     */
+    @Column(insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (substring(email, locate('@', email) + 1))")
+    private String emailDomain;
+
     /**
      * The password of the user.
      * <p>
@@ -83,9 +115,14 @@ public class User {
      * The list of phone numbers associated with the user.
      * <p>
      * This field defines a one-to-many relationship with the {@link Phone} entity.
+     * When the collection is initialized, the phones of up to 100 other loaded users are
+     * fetched in the same statement, so a page of users costs one extra query instead of one per user.
+     * The foreign key is written by the phone insert itself and never updated afterwards, and a phone removed
+     * from the list is deleted.
      * </p>
      */
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
     private List<Phone> phones;
 }
\ No newline at end of file
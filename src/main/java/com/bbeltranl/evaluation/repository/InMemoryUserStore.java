@@ -0,0 +1,663 @@
+package com.bbeltranl.evaluation.repository;
+
+import com.bbeltranl.evaluation.exception.EmailConflictException;
+import com.bbeltranl.evaluation.exception.PreconditionFailedException;
+import com.bbeltranl.evaluation.model.Phone;
+import com.bbeltranl.evaluation.model.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Primary store of users kept in memory, with the database as a write-behind copy.
+ * <p>
+ * Users are held in a concurrent map ordered by identifier, with a secondary index by email that also enforces
+ * its uniqueness and a sorted index by lower-cased name for prefix searches, so reads never reach the database.
+ * Writes are serialized by a lock; readers never lock and always see whole users, because a changed user is a new
+ * copy that replaces the previous one.
+ * </p>
+ * <p>
+ * The rows of a changed user are replaced with its current state in one transaction, as JDBC batches of
+ * {@code custom.store.batch-size} statements. When that happens depends on {@code custom.store.durability}:
+ * </p>
+ * <ul>
+ *     <li>{@code sync}: every write reaches the database, under the lock, before it is applied in memory, so an
+ *     acknowledged change is in the database and a failed one is neither visible nor pending.</li>
+ *     <li>{@code async}: a background thread flushes as soon as there are pending changes.</li>
+ *     <li>{@code periodic}: a background thread flushes every {@code custom.store.flush-interval}, so a crash
+ *     loses at most that much.</li>
+ * </ul>
+ * <p>
+ * In the other modes changed users are marked as pending and written by {@link #flush()}, and repeated changes of
+ * a user between two flushes are written once. A failed flush keeps its users pending for the next one. Pending
+ * changes are flushed on shutdown, and the store is loaded from the database on startup.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Repository
+@Profile("memory")
+public class InMemoryUserStore implements MeterBinder {
+
+    /**
+     * When changes are written to the database.
+     */
+    public enum Durability {
+        SYNC, ASYNC, PERIODIC
+    }
+
+    private static final String SELECT_ALL = "select u.id, u.name, u.email, u.password, u.created, u.modified, "
+            + "u.last_login, u.token, u.is_active, p.id as phone_id, p.number, p.city_code, p.country_code "
+            + "from \"user\" u left join phone p on p.user_id = u.id order by u.id";
+
+    private static final String DELETE_PHONES = "delete from phone where user_id = ?";
+
+    private static final String DELETE_USER = "delete from \"user\" where id = ?";
+
+    private static final String INSERT_USER = "insert into \"user\" (id, name, email, password, created, modified, "
+            + "last_login, token, is_active) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PHONE =
+            "insert into phone (id, number, city_code, country_code, user_id) values (?, ?, ?, ?, ?)";
+
+    private final ConcurrentSkipListMap<UUID, User> users = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentHashMap<String, UUID> emails = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListSet<NameKey> names = new ConcurrentSkipListSet<>();
+
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final LongAdder flushed = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Durability durability;
+
+    private final Duration flushInterval;
+
+    private final int batchSize;
+
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Creates the store, empty until {@link #load()} is called.
+     *
+     * @param jdbcTemplate the template used to read and write the users.
+     * @param transactionTemplate the template of the flush transactions.
+     * @param durability when changes are written: {@code sync}, {@code async} or {@code periodic}.
+     * @param flushInterval the time between two flushes in {@code periodic} mode, and before retrying a failed
+     *                      flush in {@code async} mode.
+     * @param batchSize the number of statements sent to the database at once.
+     */
+    public InMemoryUserStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             @Value("${custom.store.durability:async}") String durability,
+                             @Value("${custom.store.flush-interval:1s}") Duration flushInterval,
+                             @Value("${custom.store.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.durability = Durability.valueOf(durability.trim().toUpperCase(Locale.ROOT));
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-store-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads every user and its phones from the database with a single query, and starts the periodic flush.
+     */
+    @PostConstruct
+    public void load() {
+        jdbcTemplate.query(SELECT_ALL, row -> {
+            UUID id = row.getObject("id", UUID.class);
+            User user = users.get(id);
+            if (user == null) {
+                user = new User();
+                user.setId(id);
+                user.setName(row.getString("name"));
+                user.setEmail(row.getString("email"));
+                user.setPassword(row.getString("password"));
+                user.setCreated(toDate(row.getTimestamp("created")));
+                user.setModified(toDate(row.getTimestamp("modified")));
+                user.setLastLogin(toDate(row.getTimestamp("last_login")));
+                user.setToken(row.getString("token"));
+                user.setActive(row.getBoolean("is_active"));
+                user.setPhones(new ArrayList<>());
+                users.put(id, user);
+                emails.put(user.getEmail(), id);
+                names.add(NameKey.of(user));
+            }
+            UUID phoneId = row.getObject("phone_id", UUID.class);
+            if (phoneId != null) {
+                Phone phone = new Phone();
+                phone.setId(phoneId);
+                phone.setNumber(row.getString("number"));
+                phone.setCityCode(row.getString("city_code"));
+                phone.setCountryCode(row.getString("country_code"));
+                user.getPhones().add(phone);
+            }
+        });
+        if (durability == Durability.PERIODIC) {
+            long interval = flushInterval.toMillis();
+            flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the background flush and writes the pending changes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    /**
+     * Retrieves a user by identifier. The returned user is shared and must not be modified.
+     *
+     * @param id the identifier of the user.
+     * @return an {@link Optional} containing the user, or empty if it does not exist.
+     */
+    public Optional<User> findById(UUID id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    /**
+     * Retrieves a user by email. The returned user is shared and must not be modified.
+     *
+     * @param email the normalized email address of the user.
+     * @return an {@link Optional} containing the user, or empty if it does not exist.
+     */
+    public Optional<User> findByEmail(String email) {
+        UUID id = emails.get(email);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    /**
+     * Retrieves all users, ordered by identifier. The returned users are shared and must not be modified.
+     *
+     * @return the users.
+     */
+    public List<User> findAll() {
+        return new ArrayList<>(users.values());
+    }
+
+    /**
+     * Retrieves the users that follow an identifier, ordered by identifier. The returned users are shared and
+     * must not be modified.
+     *
+     * @param after the identifier the users must follow, or {@code null} to start with the first user.
+     * @param limit the maximum number of users to return.
+     * @return the users.
+     */
+    public List<User> findPage(UUID after, int limit) {
+        return findPage(after, limit, user -> true);
+    }
+
+    /**
+     * Retrieves the users that follow an identifier and match a filter, ordered by identifier. The users are
+     * scanned in order and the scan stops once {@code limit} users match. The returned users are shared and
+     * must not be modified.
+     *
+     * @param after the identifier the users must follow, or {@code null} to start with the first user.
+     * @param limit the maximum number of users to return.
+     * @param filter the test the users must pass.
+     * @return the users.
+     */
+    public List<User> findPage(UUID after, int limit, Predicate<User> filter) {
+        return (after == null ? users : users.tailMap(after, false)).values().stream()
+                .filter(filter).limit(limit).toList();
+    }
+
+    /**
+     * Retrieves the users whose lower-cased name starts with a prefix and that match a filter, ordered by
+     * lower-cased name and then by identifier. The name index is walked from the prefix, or from the position of
+     * the last user of the previous page, and the walk stops once {@code limit} users match or the names no longer
+     * have the prefix. The returned users are shared and must not be modified.
+     *
+     * @param prefix the lower-cased prefix of the names.
+     * @param afterName the lower-cased name of the last user of the previous page, or {@code null} for the first
+     *                  page.
+     * @param after the identifier of the last user of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of users to return.
+     * @param filter the test the users must pass.
+     * @return the users.
+     */
+    public List<User> findPageByNamePrefix(String prefix, String afterName, UUID after, int limit,
+                                           Predicate<User> filter) {
+        NameKey from = after == null ? new NameKey(prefix, null) : new NameKey(afterName, after);
+        List<User> page = new ArrayList<>(limit);
+        for (NameKey key : names.tailSet(from, false)) {
+            if (!key.name().startsWith(prefix) || page.size() == limit) {
+                break;
+            }
+            User user = users.get(key.id());
+            if (user != null && filter.test(user)) {
+                page.add(user);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Streams all users, ordered by identifier, without copying them. Users changed while the stream is
+     * consumed may be seen in either state. The users are shared and must not be modified.
+     *
+     * @return a {@link Stream} of the users.
+     */
+    public Stream<User> stream() {
+        return users.values().stream();
+    }
+
+    /**
+     * Returns the number of users.
+     *
+     * @return the number of users.
+     */
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * Returns the number of users whose changes have not been written to the database yet.
+     *
+     * @return the number of pending users.
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Inserts a new user, assigning the identifiers of the user and of its phones.
+     *
+     * @param user the user to insert; the store takes ownership of it.
+     * @return the inserted user.
+     * @throws IllegalArgumentException if the email is already registered.
+     */
+    public User insert(User user) {
+        User inserted = insertAll(List.of(user)).get(0);
+        if (inserted == null) {
+            throw new IllegalArgumentException("El correo ya registrado");
+        }
+        return inserted;
+    }
+
+    /**
+     * Inserts several new users, assigning the identifiers of the users and of their phones. The users are
+     * written to the database together.
+     *
+     * @param newUsers the users to insert; the store takes ownership of them.
+     * @return the inserted users, in the same order, with {@code null} for the users whose email was already
+     *         registered.
+     * @throws org.springframework.dao.DataAccessException in {@code sync} mode, if the users cannot be written;
+     *         none of them is inserted.
+     */
+    public List<User> insertAll(List<User> newUsers) {
+        List<User> inserted = new ArrayList<>(newUsers.size());
+        List<Change> changes = new ArrayList<>(newUsers.size());
+        writeLock.lock();
+        try {
+            Set<String> newEmails = new HashSet<>();
+            for (User user : newUsers) {
+                if (emails.containsKey(user.getEmail()) || !newEmails.add(user.getEmail())) {
+                    inserted.add(null);
+                    continue;
+                }
+                user.setId(UUID.randomUUID());
+                assignPhoneIds(user);
+                changes.add(new Change(null, user));
+                inserted.add(user);
+            }
+            commit(changes);
+        } finally {
+            writeLock.unlock();
+        }
+        afterWrite();
+        return inserted;
+    }
+
+    /**
+     * Replaces a user with a changed copy.
+     *
+     * @param id the identifier of the user.
+     * @param expectedModified the {@code modified} timestamp the user must still have, or {@code null}.
+     * @param change the change to apply to a copy of the user; it returns the user to store.
+     * @return the changed user.
+     * @throws IllegalArgumentException if the user does not exist.
+     * @throws EmailConflictException if the new email of the user is already registered.
+     * @throws PreconditionFailedException if the user has been modified since {@code expectedModified}.
+     * @throws org.springframework.dao.DataAccessException in {@code sync} mode, if the change cannot be written;
+     *         the user is left as it was.
+     */
+    public User update(UUID id, Date expectedModified, UnaryOperator<User> change) {
+        User updated;
+        writeLock.lock();
+        try {
+            User current = current(id, expectedModified);
+            updated = change.apply(copy(current));
+            if (!updated.getEmail().equals(current.getEmail()) && emails.containsKey(updated.getEmail())) {
+                throw new EmailConflictException();
+            }
+            assignPhoneIds(updated);
+            commit(List.of(new Change(current, updated)));
+        } finally {
+            writeLock.unlock();
+        }
+        afterWrite();
+        return updated;
+    }
+
+    /**
+     * Sets the last-login timestamp of a user, unless it already has a later one, without marking the user as
+     * changed: the timestamp is written to the database by the {@link LastLoginBuffer}.
+     *
+     * @param id the identifier of the user.
+     * @param lastLogin the date and time of the login.
+     */
+    public void touch(UUID id, Date lastLogin) {
+        writeLock.lock();
+        try {
+            User current = users.get(id);
+            if (current != null && (current.getLastLogin() == null || current.getLastLogin().before(lastLogin))) {
+                User touched = copy(current);
+                touched.setLastLogin(lastLogin);
+                users.put(id, touched);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes a user.
+     *
+     * @param id the identifier of the user.
+     * @param expectedModified the {@code modified} timestamp the user must still have, or {@code null}.
+     * @throws IllegalArgumentException if the user does not exist.
+     * @throws PreconditionFailedException if the user has been modified since {@code expectedModified}.
+     * @throws org.springframework.dao.DataAccessException in {@code sync} mode, if the deletion cannot be written;
+     *         the user is kept.
+     */
+    public void delete(UUID id, Date expectedModified) {
+        writeLock.lock();
+        try {
+            User current = current(id, expectedModified);
+            commit(List.of(new Change(current, null)));
+        } finally {
+            writeLock.unlock();
+        }
+        afterWrite();
+    }
+
+    /**
+     * Writes the current state of every pending user to the database in one transaction: their rows are
+     * deleted and the users that still exist are inserted again. Users changed while the flush runs stay
+     * pending for the next one.
+     *
+     * @throws org.springframework.dao.DataAccessException if the changes cannot be written; the users stay
+     *         pending.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<UUID> ids;
+            List<User> present = new ArrayList<>();
+            writeLock.lock();
+            try {
+                ids = new ArrayList<>(pending);
+                pending.removeAll(ids);
+                ids.forEach(id -> findById(id).ifPresent(present::add));
+            } finally {
+                writeLock.unlock();
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+            try {
+                write(ids, present);
+                flushed.add(ids.size());
+            } catch (RuntimeException e) {
+                pending.addAll(ids);
+                failures.increment();
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Registers the {@code user.store.*} metrics.
+     *
+     * @param registry the registry to bind to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.store.size", this, InMemoryUserStore::size)
+                .description("Users held in memory")
+                .register(registry);
+        Gauge.builder("user.store.pending", this, InMemoryUserStore::pendingCount)
+                .description("Users whose changes have not been written to the database")
+                .register(registry);
+        FunctionCounter.builder("user.store.flushed", flushed, LongAdder::sum)
+                .description("User changes written to the database")
+                .register(registry);
+        FunctionCounter.builder("user.store.flush.failures", failures, LongAdder::sum)
+                .description("Flushes of user changes that failed and will be retried")
+                .register(registry);
+    }
+
+    private void write(List<UUID> ids, List<User> present) {
+        List<Object[]> idRows = ids.stream().map(id -> new Object[]{id}).toList();
+        List<Object[]> userRows = new ArrayList<>(present.size());
+        List<Object[]> phoneRows = new ArrayList<>();
+        for (User user : present) {
+            userRows.add(new Object[]{user.getId(), user.getName(), user.getEmail(), user.getPassword(),
+                    user.getCreated(), user.getModified(), user.getLastLogin(), user.getToken(), user.isActive()});
+            for (Phone phone : user.getPhones()) {
+                phoneRows.add(new Object[]{phone.getId(), phone.getNumber(), phone.getCityCode(),
+                        phone.getCountryCode(), user.getId()});
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            batchUpdate(DELETE_PHONES, idRows);
+            batchUpdate(DELETE_USER, idRows);
+            batchUpdate(INSERT_USER, userRows);
+            batchUpdate(INSERT_PHONE, phoneRows);
+        });
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    /**
+     * Applies the changes of a write to the maps and indexes; the write lock must be held. In {@code sync} mode
+     * they are written to the database first, so a failed write leaves the store as it was; otherwise the users
+     * are marked as pending.
+     */
+    private void commit(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (durability == Durability.SYNC) {
+            write(changes.stream().map(Change::id).toList(),
+                    changes.stream().map(Change::next).filter(Objects::nonNull).toList());
+            flushed.add(changes.size());
+        }
+        for (Change change : changes) {
+            User previous = change.previous();
+            User next = change.next();
+            if (next != null) {
+                users.put(next.getId(), next);
+                emails.put(next.getEmail(), next.getId());
+                names.add(NameKey.of(next));
+            } else {
+                users.remove(previous.getId());
+            }
+            if (previous != null && (next == null || !previous.getEmail().equals(next.getEmail()))) {
+                emails.remove(previous.getEmail(), previous.getId());
+            }
+            if (previous != null && (next == null || !NameKey.of(previous).equals(NameKey.of(next)))) {
+                names.remove(NameKey.of(previous));
+            }
+            if (durability != Durability.SYNC) {
+                pending.add(change.id());
+            }
+        }
+    }
+
+    /**
+     * Schedules the flush of the pending changes as required by the durability mode.
+     */
+    private void afterWrite() {
+        switch (durability) {
+            case ASYNC -> scheduleFlush(0);
+            case SYNC, PERIODIC -> {
+                // sync writes are already in the database; periodic ones wait for the next flush
+            }
+        }
+    }
+
+    private void scheduleFlush(long delayMillis) {
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.schedule(() -> {
+                    flushScheduled.set(false);
+                    if (!flushQuietly()) {
+                        scheduleFlush(flushInterval.toMillis());
+                    }
+                }, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Flushes from the background thread, where a failure is only counted; the users stay pending.
+     *
+     * @return {@code true} if the flush succeeded.
+     */
+    private boolean flushQuietly() {
+        try {
+            flush();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private User current(UUID id, Date expectedModified) {
+        User current = users.get(id);
+        if (current == null) {
+            throw new IllegalArgumentException("Usuario no encontrado");
+        }
+        if (expectedModified != null && expectedModified.getTime() != current.getModified().getTime()) {
+            throw new PreconditionFailedException();
+        }
+        return current;
+    }
+
+    /**
+     * Entry of the name index: the lower-cased name of a user and its identifier. A {@code null} identifier
+     * sorts before every user with the same name, so it marks the start of a name.
+     */
+    private record NameKey(String name, UUID id) implements Comparable<NameKey> {
+
+        private static final Comparator<NameKey> ORDER = Comparator.comparing(NameKey::name)
+                .thenComparing(NameKey::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        static NameKey of(User user) {
+            return new NameKey(user.getName() == null ? "" : user.getName().toLowerCase(Locale.ROOT), user.getId());
+        }
+
+        @Override
+        public int compareTo(NameKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * A change of one user: its state before the change, {@code null} for an insertion, and after it,
+     * {@code null} for a deletion.
+     */
+    private record Change(User previous, User next) {
+
+        UUID id() {
+            return next != null ? next.getId() : previous.getId();
+        }
+    }
+
+    private static void assignPhoneIds(User user) {
+        if (user.getPhones() == null) {
+            user.setPhones(new ArrayList<>());
+        }
+        user.getPhones().stream().filter(phone -> phone.getId() == null)
+                .forEach(phone -> phone.setId(UUID.randomUUID()));
+    }
+
+    private static User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setCreated(user.getCreated());
+        copy.setModified(user.getModified());
+        copy.setLastLogin(user.getLastLogin());
+        copy.setToken(user.getToken());
+        copy.setActive(user.isActive());
+        List<Phone> phones = new ArrayList<>(user.getPhones().size());
+        for (Phone phone : user.getPhones()) {
+            Phone phoneCopy = new Phone();
+            phoneCopy.setId(phone.getId());
+            phoneCopy.setNumber(phone.getNumber());
+            phoneCopy.setCityCode(phone.getCityCode());
+            phoneCopy.setCountryCode(phone.getCountryCode());
+            phones.add(phoneCopy);
+        }
+        copy.setPhones(phones);
+        return copy;
+    }
+
+    private static Date toDate(Timestamp timestamp) {
+        return timestamp == null ? null : new Date(timestamp.getTime());
+    }
+}
@@ -0,0 +1,167 @@
+package com.bbeltranl.evaluation.repository;
+
+import com.bbeltranl.evaluation.cache.UserCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers the last-login timestamps of users in memory and writes them to the database in batches.
+ * <p>
+ * A login only records its timestamp here, so it costs no database write. Every
+ * {@code custom.last-login.flush-interval} the buffered timestamps are written with a single batched
+ * {@code UPDATE} of the {@code last_login} column, and nothing else: the {@code modified} timestamp, and so the
+ * version of the user, is left alone. Repeated logins of a user between two flushes keep only the latest
+ * timestamp and are written once, and a buffered timestamp never overwrites a later one already stored. The
+ * flushed users are evicted from the {@link UserCache}, and the buffer is drained on shutdown.
+ * </p>
+ * <p>
+ * A timestamp stays in the buffer until it has been written, so reads that overlay {@link #get(UUID)} on the
+ * stored user always see the latest login.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Repository
+@Profile("!reactive")
+public class LastLoginBuffer implements MeterBinder {
+
+    private static final String UPDATE_LAST_LOGIN =
+            "update \"user\" set last_login = ? where id = ? and (last_login is null or last_login < ?)";
+
+    private final ConcurrentHashMap<UUID, Date> pending = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder recorded = new LongAdder();
+
+    private final LongAdder written = new LongAdder();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final UserCache userCache;
+
+    private final int batchSize;
+
+    /**
+     * Creates the buffer.
+     *
+     * @param jdbcTemplate the template used to write the timestamps.
+     * @param userCache the cache whose users are evicted once their timestamp is written.
+     * @param batchSize the number of users updated per JDBC batch.
+     */
+    public LastLoginBuffer(JdbcTemplate jdbcTemplate, UserCache userCache,
+                           @Value("${custom.last-login.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userCache = userCache;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Records a login of a user.
+     *
+     * @param id the identifier of the user.
+     * @param lastLogin the date and time of the login.
+     */
+    public void record(UUID id, Date lastLogin) {
+        pending.merge(id, lastLogin, LastLoginBuffer::latest);
+        recorded.increment();
+    }
+
+    /**
+     * Returns the buffered last-login timestamp of a user.
+     *
+     * @param id the identifier of the user.
+     * @return an {@link Optional} containing the timestamp, or empty if none is waiting to be written.
+     */
+    public Optional<Date> get(UUID id) {
+        return Optional.ofNullable(pending.get(id));
+    }
+
+    /**
+     * Returns the number of users whose last login is waiting to be written.
+     *
+     * @return the number of pending users.
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes the buffered timestamps to the database. The written timestamps are then removed from the buffer,
+     * unless a later login replaced them while the flush ran, which is written by the next one; the timestamps
+     * of a failed flush stay in the buffer.
+     *
+     * @return the number of users whose timestamp was written.
+     */
+    @Scheduled(fixedDelayString = "${custom.last-login.flush-interval:PT5S}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            Map<UUID, Date> batch = new HashMap<>(pending);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            batch.forEach((id, lastLogin) -> {
+                Timestamp timestamp = new Timestamp(lastLogin.getTime());
+                rows.add(new Object[]{timestamp, id, timestamp});
+            });
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN,
+                        rows.subList(from, Math.min(from + batchSize, rows.size())));
+            }
+            batch.keySet().forEach(userCache::evict);
+            batch.forEach(pending::remove);
+            written.add(batch.size());
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the buffered timestamps before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Registers the {@code user.last-login.*} metrics.
+     *
+     * @param registry the registry to bind to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.last-login.pending", this, LastLoginBuffer::pendingCount)
+                .description("Users whose last login is waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("user.last-login.recorded", recorded, LongAdder::sum)
+                .description("Logins recorded")
+                .register(registry);
+        FunctionCounter.builder("user.last-login.written", written, LongAdder::sum)
+                .description("Last-login timestamps written to the database")
+                .register(registry);
+    }
+
+    private static Date latest(Date a, Date b) {
+        return a.after(b) ? a : b;
+    }
+}
@@ -0,0 +1,407 @@
+package com.bbeltranl.evaluation.repository;
+
+import com.bbeltranl.evaluation.dto.PhoneView;
+import com.bbeltranl.evaluation.dto.UserVersion;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.model.Phone;
+import com.bbeltranl.evaluation.model.User;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Non-blocking repository of {@link User} entities built on R2DBC.
+ * <p>
+ * It works on the same tables as the JPA {@link UserRepository}. Users are always returned with their
+ * phones: the phones of every user of a result are loaded with one extra {@code IN} query. Identifiers are
+ * generated here, as Hibernate does for the JPA stack. Methods do not open transactions on their own;
+ * callers compose them inside a {@link org.springframework.transaction.reactive.TransactionalOperator}.
+ * </p>
+ * <p>
+ * This repository only exists when the application runs as a reactive web application.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserRepository {
+
+    private static final String USER_COLUMNS =
+            "id, name, email, password, created, modified, last_login, token, is_active";
+
+    private static final String INSERT_USER = "insert into \"user\" (" + USER_COLUMNS + ") "
+            + "values ($1, $2, $3, $4, $5, $6, $7, $8, $9)";
+
+    private static final String INSERT_PHONE =
+            "insert into phone (id, number, city_code, country_code, user_id) values ($1, $2, $3, $4, $5)";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Creates the repository.
+     *
+     * @param databaseClient the client used to run the statements.
+     */
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Inserts a new user and its phones, assigning their identifiers.
+     *
+     * @param user the user to insert.
+     * @return a {@link Mono} emitting the inserted user.
+     */
+    public Mono<User> insert(User user) {
+        return insertAll(List.of(user)).thenReturn(user);
+    }
+
+    /**
+     * Inserts several new users and their phones, assigning their identifiers.
+     * <p>
+     * The users and the phones are each sent as a single batched statement.
+     * </p>
+     *
+     * @param users the users to insert.
+     * @return a {@link Mono} that completes when every row has been inserted.
+     */
+    public Mono<Void> insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return Mono.empty();
+        }
+        users.forEach(user -> {
+            user.setId(UUID.randomUUID());
+            phonesOf(user).forEach(phone -> phone.setId(UUID.randomUUID()));
+        });
+        return databaseClient.inConnectionMany(connection -> {
+            Statement userStatement = connection.createStatement(INSERT_USER);
+            for (int i = 0; i < users.size(); i++) {
+                if (i > 0) {
+                    userStatement.add();
+                }
+                bindUser(userStatement, users.get(i));
+            }
+            Flux<Long> inserted = Flux.from(userStatement.execute()).flatMap(result -> result.getRowsUpdated());
+
+            Statement phoneStatement = connection.createStatement(INSERT_PHONE);
+            boolean hasPhones = false;
+            for (User user : users) {
+                for (Phone phone : phonesOf(user)) {
+                    if (hasPhones) {
+                        phoneStatement.add();
+                    }
+                    bindPhone(phoneStatement, phone, user.getId());
+                    hasPhones = true;
+                }
+            }
+            if (hasPhones) {
+                inserted = inserted.concatWith(
+                        Flux.from(phoneStatement.execute()).flatMap(result -> result.getRowsUpdated()));
+            }
+            return inserted;
+        }).then();
+    }
+
+    /**
+     * Returns which of the given emails are already registered.
+     *
+     * @param emails the normalized emails to look for.
+     * @return a {@link Flux} of the emails that exist.
+     */
+    public Flux<String> findExistingEmails(Collection<String> emails) {
+        return databaseClient.sql("select email from \"user\" where email in (:emails)")
+                .bind("emails", emails)
+                .map(row -> row.get("email", String.class))
+                .all();
+    }
+
+    /**
+     * Retrieves a user by identifier.
+     *
+     * @param id the identifier of the user.
+     * @return a {@link Mono} emitting the user, or empty if it does not exist.
+     */
+    public Mono<User> findById(UUID id) {
+        return withPhones(databaseClient.sql("select " + USER_COLUMNS + " from \"user\" where id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toUser)
+                .all())
+                .next();
+    }
+
+    /**
+     * Retrieves a user by its normalized email.
+     *
+     * @param email the normalized email of the user.
+     * @return a {@link Mono} emitting the user, or empty if it does not exist.
+     */
+    public Mono<User> findByEmail(String email) {
+        return withPhones(databaseClient.sql("select " + USER_COLUMNS + " from \"user\" where email = :email")
+                .bind("email", email)
+                .map(ReactiveUserRepository::toUser)
+                .all())
+                .next();
+    }
+
+    /**
+     * Retrieves the {@code modified} and last-login timestamps of a user, without loading the user.
+     *
+     * @param id the identifier of the user.
+     * @return a {@link Mono} emitting the version, or empty if the user does not exist.
+     */
+    public Mono<UserVersion> findVersion(UUID id) {
+        return databaseClient.sql("select modified, last_login from \"user\" where id = :id")
+                .bind("id", id)
+                .map(row -> new UserVersion(toDate(row.get("modified", LocalDateTime.class)),
+                        toDate(row.get("last_login", LocalDateTime.class))))
+                .one();
+    }
+
+    /**
+     * Checks whether a user exists.
+     *
+     * @param id the identifier of the user.
+     * @return a {@link Mono} emitting {@code true} if the user exists.
+     */
+    public Mono<Boolean> existsById(UUID id) {
+        return databaseClient.sql("select 1 from \"user\" where id = :id")
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Sets the {@code modified} timestamp of a user only if it still has the expected value.
+     * <p>
+     * The update locks the row until the end of the transaction, so it acts as a compare-and-set that
+     * serializes conditional writes of the same user.
+     * </p>
+     *
+     * @param id the identifier of the user.
+     * @param expected the {@code modified} timestamp the user must still have.
+     * @param modified the new {@code modified} timestamp.
+     * @return a {@link Mono} emitting the number of user rows updated.
+     */
+    public Mono<Long> touchIfUnmodified(UUID id, Date expected, Date modified) {
+        return databaseClient.sql("update \"user\" set modified = :modified where id = :id and modified = :expected")
+                .bind("modified", toLocalDateTime(modified))
+                .bind("id", id)
+                .bind("expected", toLocalDateTime(expected))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Streams the read model of every user with its phones, ordered by identifier.
+     * <p>
+     * Users and phones are read with a single join, one row per phone, and the rows of each user are folded
+     * into one {@link UserView} as they arrive, so only the rows of the current user are held in memory and
+     * the driver only reads ahead as fast as the subscriber consumes.
+     * </p>
+     *
+     * @return a {@link Flux} of the views of the users.
+     */
+    public Flux<UserView> streamViews() {
+        return databaseClient.sql("select u.id, u.name, u.email, u.created, u.modified, u.last_login, u.is_active, "
+                        + "p.id as phone_id, p.number, p.city_code, p.country_code "
+                        + "from \"user\" u left join phone p on p.user_id = u.id order by u.id")
+                .map(row -> {
+                    UserView view = new UserView(row.get("id", UUID.class), row.get("name", String.class),
+                            row.get("email", String.class), toDate(row.get("created", LocalDateTime.class)),
+                            toDate(row.get("modified", LocalDateTime.class)),
+                            toDate(row.get("last_login", LocalDateTime.class)),
+                            Boolean.TRUE.equals(row.get("is_active", Boolean.class)));
+                    if (row.get("phone_id", UUID.class) != null) {
+                        view.getPhones().add(new PhoneView(view.getId(), row.get("number", String.class),
+                                row.get("city_code", String.class), row.get("country_code", String.class)));
+                    }
+                    return view;
+                })
+                .all()
+                .bufferUntilChanged(UserView::getId)
+                .map(rows -> {
+                    UserView view = rows.get(0);
+                    rows.subList(1, rows.size()).forEach(row -> view.getPhones().addAll(row.getPhones()));
+                    return view;
+                });
+    }
+
+    /**
+     * Retrieves the users that follow a given identifier, ordered by identifier.
+     *
+     * @param after the identifier of the last user of the previous page, or {@code null} for the first page.
+     * @param limit the maximum number of users to return.
+     * @return a {@link Flux} of the users.
+     */
+    public Flux<User> findPage(UUID after, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = after == null
+                ? databaseClient.sql("select " + USER_COLUMNS + " from \"user\" order by id limit :limit")
+                : databaseClient.sql("select " + USER_COLUMNS + " from \"user\" where id > :after order by id limit :limit")
+                        .bind("after", after);
+        return withPhones(spec.bind("limit", limit).map(ReactiveUserRepository::toUser).all());
+    }
+
+    /**
+     * Updates the columns of a user, except its last-login timestamp, which only logins change, and, if its phone
+     * list is not {@code null}, replaces its phones.
+     *
+     * @param user the user to update.
+     * @return a {@link Mono} emitting the number of user rows updated.
+     */
+    public Mono<Long> update(User user) {
+        Mono<Long> updated = databaseClient.sql("update \"user\" set name = :name, email = :email, "
+                        + "password = :password, modified = :modified where id = :id")
+                .bind("name", user.getName())
+                .bind("email", user.getEmail())
+                .bind("password", user.getPassword())
+                .bind("modified", toLocalDateTime(user.getModified()))
+                .bind("id", user.getId())
+                .fetch()
+                .rowsUpdated();
+        if (user.getPhones() == null) {
+            return updated;
+        }
+        return updated.flatMap(rows -> deletePhones(user.getId())
+                .then(insertPhones(user))
+                .thenReturn(rows));
+    }
+
+    /**
+     * Deletes a user and its phones.
+     *
+     * @param id the identifier of the user.
+     * @param expectedModified the {@code modified} timestamp the user must still have, or {@code null} to delete
+     *                         it unconditionally.
+     * @return a {@link Mono} emitting the number of user rows deleted.
+     */
+    public Mono<Long> deleteById(UUID id, Date expectedModified) {
+        DatabaseClient.GenericExecuteSpec spec = expectedModified == null
+                ? databaseClient.sql("delete from \"user\" where id = :id")
+                : databaseClient.sql("delete from \"user\" where id = :id and modified = :modified")
+                        .bind("modified", toLocalDateTime(expectedModified));
+        return deletePhones(id).then(spec.bind("id", id).fetch().rowsUpdated());
+    }
+
+    private Mono<Long> deletePhones(UUID userId) {
+        return databaseClient.sql("delete from phone where user_id = :userId")
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<Void> insertPhones(User user) {
+        return Flux.fromIterable(phonesOf(user))
+                .concatMap(phone -> {
+                    phone.setId(UUID.randomUUID());
+                    return databaseClient.inConnection(connection -> {
+                        Statement statement = connection.createStatement(INSERT_PHONE);
+                        bindPhone(statement, phone, user.getId());
+                        return Flux.from(statement.execute()).flatMap(result -> result.getRowsUpdated()).next();
+                    });
+                })
+                .then();
+    }
+
+    /**
+     * Loads the phones of a stream of users with one {@code IN} query and attaches them to each user.
+     *
+     * @param users the users, without phones.
+     * @return the same users, in the same order, with their phones.
+     */
+    private Flux<User> withPhones(Flux<User> users) {
+        return users.collectList().flatMapMany(list -> {
+            if (list.isEmpty()) {
+                return Flux.empty();
+            }
+            Map<UUID, User> byId = new LinkedHashMap<>();
+            list.forEach(user -> {
+                user.setPhones(new ArrayList<>());
+                byId.put(user.getId(), user);
+            });
+            return databaseClient.sql("select id, number, city_code, country_code, user_id from phone "
+                            + "where user_id in (:ids)")
+                    .bind("ids", byId.keySet())
+                    .map(row -> {
+                        byId.get(row.get("user_id", UUID.class)).getPhones().add(toPhone(row));
+                        return 1;
+                    })
+                    .all()
+                    .thenMany(Flux.fromIterable(list));
+        });
+    }
+
+    private static void bindUser(Statement statement, User user) {
+        statement.bind(0, user.getId());
+        bindNullable(statement, 1, user.getName(), String.class);
+        bindNullable(statement, 2, user.getEmail(), String.class);
+        bindNullable(statement, 3, user.getPassword(), String.class);
+        bindNullable(statement, 4, toLocalDateTime(user.getCreated()), LocalDateTime.class);
+        bindNullable(statement, 5, toLocalDateTime(user.getModified()), LocalDateTime.class);
+        bindNullable(statement, 6, toLocalDateTime(user.getLastLogin()), LocalDateTime.class);
+        bindNullable(statement, 7, user.getToken(), String.class);
+        statement.bind(8, user.isActive());
+    }
+
+    private static void bindPhone(Statement statement, Phone phone, UUID userId) {
+        statement.bind(0, phone.getId());
+        bindNullable(statement, 1, phone.getNumber(), String.class);
+        bindNullable(statement, 2, phone.getCityCode(), String.class);
+        bindNullable(statement, 3, phone.getCountryCode(), String.class);
+        statement.bind(4, userId);
+    }
+
+    private static <T> void bindNullable(Statement statement, int index, T value, Class<T> type) {
+        if (value == null) {
+            statement.bindNull(index, type);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+
+    private static User toUser(Readable row) {
+        User user = new User();
+        user.setId(row.get("id", UUID.class));
+        user.setName(row.get("name", String.class));
+        user.setEmail(row.get("email", String.class));
+        user.setPassword(row.get("password", String.class));
+        user.setCreated(toDate(row.get("created", LocalDateTime.class)));
+        user.setModified(toDate(row.get("modified", LocalDateTime.class)));
+        user.setLastLogin(toDate(row.get("last_login", LocalDateTime.class)));
+        user.setToken(row.get("token", String.class));
+        user.setActive(Boolean.TRUE.equals(row.get("is_active", Boolean.class)));
+        return user;
+    }
+
+    private static Phone toPhone(Readable row) {
+        Phone phone = new Phone();
+        phone.setId(row.get("id", UUID.class));
+        phone.setNumber(row.get("number", String.class));
+        phone.setCityCode(row.get("city_code", String.class));
+        phone.setCountryCode(row.get("country_code", String.class));
+        return phone;
+    }
+
+    private static List<Phone> phonesOf(User user) {
+        return user.getPhones() == null ? List.of() : user.getPhones();
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return dateTime == null ? null : Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -1,30 +1,242 @@
 package com.bbeltranl.evaluation.repository;
 
+import com.bbeltranl.evaluation.dto.PhoneView;
+import com.bbeltranl.evaluation.dto.UserVersion;
+import com.bbeltranl.evaluation.dto.UserView;
 import com.bbeltranl.evaluation.model.User;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.Tuple;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for {@link User} entity.
  * <p>
  * This interface extends the {@link JpaRepository} interface from Spring Data JPA, providing
  * CRUD operations and query methods for the {@link User} entity. The primary key type of the
- * entity is {@link UUID}.
+ * entity is {@link UUID}. Searches with optional filters come from {@link UserSearchRepository}.
  * </p>
  *
  * @author bbeltranl
  * @version 1.0
  * @since 2024-06-13
  */
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserSearchRepository {
 
     /**
-     * Retrieves a {@link User} entity by its email address.
+     * Select clause of the read model of a user with its phones, one row per phone.
+     */
+    String VIEW_ROWS = "select u.id as id, u.name as name, u.email as email, u.created as created, "
+            + "u.modified as modified, u.lastLogin as lastLogin, u.isActive as isActive, p.id as phoneId, "
+            + "p.number as number, p.cityCode as cityCode, p.countryCode as countryCode "
+            + "from User u left join u.phones p ";
+
+    /**
+     * Number of rows fetched per round trip by {@link #streamViewRows()}.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Retrieves a {@link User} entity by its normalized email address, fetching its phones in the same query.
      *
      * @param email the email address of the user to find.
      * @return an {@link Optional} containing the found user, or an empty {@link Optional} if no user was found.
      */
+    @EntityGraph(attributePaths = "phones")
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the identifier of a user by its normalized email address, without loading the user.
+     *
+     * @param email the normalized email address of the user.
+     * @return an {@link Optional} containing the identifier, or an empty {@link Optional} if no user was found.
+     */
+    @Query("select u.id from User u where u.email = :email")
+    Optional<UUID> findIdByEmail(String email);
+
+    /**
+     * Retrieves which of the given email addresses are already registered.
+     *
+     * @param emails the normalized email addresses to check.
+     * @return the subset of {@code emails} that belong to an existing user.
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Retrieves all {@link User} entities together with their phones in a single query.
+     *
+     * @return a {@link List} of users with their phones initialized.
+     */
+    @Override
+    @EntityGraph(attributePaths = "phones")
+    List<User> findAll();
+
+    /**
+     * Retrieves a {@link User} entity by its identifier, fetching its phones in the same query.
+     *
+     * @param id the identifier of the user to find.
+     * @return an {@link Optional} containing the found user, or an empty {@link Optional} if no user was found.
+     */
+    @EntityGraph(attributePaths = "phones")
+    Optional<User> findWithPhonesById(UUID id);
+
+    /**
+     * Retrieves the read model of the first page of users ordered by their identifier.
+     * <p>
+     * Only the columns of {@link UserView} are selected and no entity is managed; phones are loaded
+     * separately with {@link #findPhoneViews(Collection)}.
+     * </p>
+     *
+     * @param limit the maximum number of users to return.
+     * @return a {@link List} with at most {@code limit} views, without phones.
+     */
+    @Query("select new com.bbeltranl.evaluation.dto.UserView(u.id, u.name, u.email, u.created, u.modified, "
+            + "u.lastLogin, u.isActive) from User u order by u.id")
+    List<UserView> findViews(Limit limit);
+
+    /**
+     * Retrieves the read model of the users whose identifier comes after the given one, ordered by identifier.
+     * <p>
+     * This is the keyset query used to continue a paginated listing: it seeks directly on the
+     * primary key index, so its cost does not depend on how deep into the table the page is.
+     * </p>
+     *
+     * @param id the identifier of the last user of the previous page.
+     * @param limit the maximum number of users to return.
+     * @return a {@link List} with at most {@code limit} views, without phones.
+     */
+    @Query("select new com.bbeltranl.evaluation.dto.UserView(u.id, u.name, u.email, u.created, u.modified, "
+            + "u.lastLogin, u.isActive) from User u where u.id > :id order by u.id")
+    List<UserView> findViewsAfter(UUID id, Limit limit);
+
+    /**
+     * Retrieves the phones of several users as read models.
+     *
+     * @param userIds the identifiers of the users.
+     * @return the phones of those users, each one carrying the identifier of its user.
+     */
+    @Query("select new com.bbeltranl.evaluation.dto.PhoneView(u.id, p.number, p.cityCode, p.countryCode) "
+            + "from User u join u.phones p where u.id in :userIds")
+    List<PhoneView> findPhoneViews(Collection<UUID> userIds);
+
+    /**
+     * Retrieves the columns of the read model of one user and its phones, one row per phone.
+     * <p>
+     * The phones are left-joined so a single statement is enough; a user without phones yields one row
+     * with {@code null} phone columns.
+     * </p>
+     *
+     * @param id the identifier of the user.
+     * @return the rows of the user, empty if it does not exist.
+     */
+    @Query(VIEW_ROWS + "where u.id = :id")
+    List<Tuple> findViewRowsById(UUID id);
+
+    /**
+     * Streams the read model rows of every user ordered by identifier, one row per phone.
+     * <p>
+     * The rows are read through a forward-only cursor with a JDBC fetch size of {@value #EXPORT_FETCH_SIZE}, and
+     * no entity is managed, so consuming the stream takes constant memory. It must be consumed, and closed,
+     * inside a transaction.
+     * </p>
+     *
+     * @return a {@link Stream} of rows with the aliases of {@link #VIEW_ROWS}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(VIEW_ROWS + "order by u.id")
+    Stream<Tuple> streamViewRows();
+
+    /**
+     * Deletes every phone of a user with a single bulk statement.
+     * <p>
+     * The phone table has no mapped back-reference to its user, so this is a native query.
+     * </p>
+     *
+     * @param userId the identifier of the user.
+     * @return the number of phones deleted.
+     */
+    @Modifying
+    @Query(value = "delete from phone where user_id = :userId", nativeQuery = true)
+    int deletePhonesOfUser(UUID userId);
+
+    /**
+     * Deletes a user row with a single bulk statement, without loading it; its phones must be deleted first.
+     *
+     * @param id the identifier of the user.
+     * @return the number of users deleted, {@code 0} if the user does not exist.
+     */
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int deleteUser(UUID id);
+
+    /**
+     * Deletes a user row only if it has not been modified since the given date.
+     *
+     * @param id the identifier of the user.
+     * @param modified the {@code modified} timestamp the user must still have.
+     * @return the number of users deleted, {@code 0} if the user does not exist or has been modified.
+     */
+    @Modifying
+    @Query("delete from User u where u.id = :id and u.modified = :modified")
+    int deleteUserIfUnmodified(UUID id, Date modified);
+
+    /**
+     * Retrieves the {@code modified} and last-login timestamps of a user, without loading the user.
+     *
+     * @param id the identifier of the user.
+     * @return an {@link Optional} containing the version, or an empty {@link Optional} if the user does not exist.
+     */
+    @Query("select new com.bbeltranl.evaluation.dto.UserVersion(u.modified, u.lastLogin) from User u where u.id = :id")
+    Optional<UserVersion> findVersionById(UUID id);
+
+    /**
+     * Retrieves what a login needs to know about a user, without loading the user: the aliases {@code id},
+     * {@code password}, {@code created}, {@code modified} and {@code isActive}.
+     *
+     * @param email the normalized email address of the user.
+     * @return an {@link Optional} containing the row, or an empty {@link Optional} if the user does not exist.
+     */
+    @Query("select u.id as id, u.password as password, u.created as created, u.modified as modified, "
+            + "u.isActive as isActive from User u where u.email = :email")
+    Optional<Tuple> findCredentialsByEmail(String email);
+
+    /**
+     * Retrieves what the {@link UserStatistics} count of a user, without loading the user: one row per phone, or a
+     * single row if it has none, with the aliases {@code isActive}, {@code created} and {@code countryCode}.
+     *
+     * @param id the identifier of the user.
+     * @return the rows of the user, or an empty list if the user does not exist.
+     */
+    @Query("select u.isActive as isActive, u.created as created, p.countryCode as countryCode "
+            + "from User u left join u.phones p where u.id = :id")
+    List<Tuple> findStatisticsRowsById(UUID id);
+
+    /**
+     * Sets the {@code modified} timestamp of a user only if it still has the expected value.
+     * <p>
+     * The update locks the row until the end of the transaction, so it acts as a compare-and-set that
+     * serializes conditional writes of the same user.
+     * </p>
+     *
+     * @param id the identifier of the user.
+     * @param expected the {@code modified} timestamp the user must still have.
+     * @param modified the new {@code modified} timestamp.
+     * @return the number of users updated, {@code 0} if the user does not exist or has been modified.
+     */
+    @Modifying
+    @Query("update User u set u.modified = :modified where u.id = :id and u.modified = :expected")
+    int touchIfUnmodified(UUID id, Date expected, Date modified);
+}
@@ -0,0 +1,39 @@
+package com.bbeltranl.evaluation.repository;
+
+import com.bbeltranl.evaluation.dto.UserSearchCriteria;
+import com.bbeltranl.evaluation.dto.UserView;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Search queries of {@link UserRepository}, whose shape depends on the filters given.
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface UserSearchRepository {
+
+    /**
+     * Retrieves the read model of the users that match the criteria.
+     * <p>
+     * Searches with a name prefix are ordered by lower-cased name and then by identifier, so they are read in
+     * the order of the name index; every other search is ordered by identifier.
+     * </p>
+     * <p>
+     * Only the conditions of the filters that are set are part of the query, so each one can use its index:
+     * the lower-cased name and the email domain are indexed on the user table, and the country and city
+     * codes on the phone table.
+     * </p>
+     *
+     * @param criteria the filters of the search.
+     * @param afterName the lower-cased name of the last user of the previous page when searching by name, or
+     *                  {@code null}; it is only used together with {@code after}.
+     * @param after the identifier of the last user of the previous page, which the users must follow in the order
+     *              of the search, or {@code null} to start with the first match.
+     * @param limit the maximum number of users to return.
+     * @return a {@link List} with at most {@code limit} views, without phones.
+     */
+    List<UserView> search(UserSearchCriteria criteria, String afterName, UUID after, int limit);
+}
@@ -0,0 +1,85 @@
+package com.bbeltranl.evaluation.repository;
+
+import com.bbeltranl.evaluation.dto.UserSearchCriteria;
+import com.bbeltranl.evaluation.dto.UserView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.*;
+
+/**
+ * Implementation of {@link UserSearchRepository} that builds the search query from the filters that are set.
+ * <p>
+ * A query with a condition for every filter, disabled with {@code :param is null}, would be planned once for
+ * all combinations and could not seek on any index; instead only the conditions that apply are written.
+ * </p>
+ * <p>
+ * Searches by name are ordered by the lower-cased name and then by identifier, the order of the
+ * {@code ix_user_name_key} index, so a page is read straight from the index range instead of sorting every user
+ * that shares the prefix; every other search is ordered by identifier.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserView> search(UserSearchCriteria criteria, String afterName, UUID after, int limit) {
+        StringBuilder jpql = new StringBuilder("select new com.bbeltranl.evaluation.dto.UserView(u.id, u.name, "
+                + "u.email, u.created, u.modified, u.lastLogin, u.isActive) from User u where 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+
+        boolean byName = hasText(criteria.getName());
+        if (byName) {
+            jpql.append(" and u.nameKey like :namePrefix escape '\\'");
+            parameters.put("namePrefix", escapeLike(criteria.getName().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (hasText(criteria.getEmailDomain())) {
+            jpql.append(" and u.emailDomain = :emailDomain");
+            parameters.put("emailDomain", criteria.getEmailDomain().trim().toLowerCase(Locale.ROOT));
+        }
+        if (hasText(criteria.getCountryCode()) || hasText(criteria.getCityCode())) {
+            jpql.append(" and exists (select 1 from u.phones p where 1 = 1");
+            if (hasText(criteria.getCountryCode())) {
+                jpql.append(" and p.countryCode = :countryCode");
+                parameters.put("countryCode", criteria.getCountryCode().trim());
+            }
+            if (hasText(criteria.getCityCode())) {
+                jpql.append(" and p.cityCode = :cityCode");
+                parameters.put("cityCode", criteria.getCityCode().trim());
+            }
+            jpql.append(")");
+        }
+        if (criteria.getActive() != null) {
+            jpql.append(" and u.isActive = :active");
+            parameters.put("active", criteria.getActive());
+        }
+        if (after != null && byName) {
+            jpql.append(" and u.nameKey >= :afterName and (u.nameKey > :afterName or u.id > :after)");
+            parameters.put("afterName", afterName);
+            parameters.put("after", after);
+        } else if (after != null) {
+            jpql.append(" and u.id > :after");
+            parameters.put("after", after);
+        }
+        jpql.append(byName ? " order by u.nameKey, u.id" : " order by u.id");
+
+        TypedQuery<UserView> query = entityManager.createQuery(jpql.toString(), UserView.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
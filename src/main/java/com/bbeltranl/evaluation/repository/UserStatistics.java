@@ -0,0 +1,275 @@
+package com.bbeltranl.evaluation.repository;
+
+import com.bbeltranl.evaluation.dto.UserStatsResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Counters of the users, kept up to date by the writes so that the statistics are read without querying the
+ * {@code user} table.
+ * <p>
+ * The service records every committed registration, phone change and deletion here. Each count is a
+ * {@link LongAdder}, so concurrent writes never contend on a lock, and the counts by country code and by hour of
+ * registration are adders in concurrent maps. The counters are rebuilt from the database once the application is
+ * ready, and reconciled with aggregate queries every {@code custom.stats.reconcile-interval}: each count is read just
+ * before its query and corrected by the difference, so writes recorded while the queries run are kept. Registrations
+ * are counted for the last {@code custom.stats.hours} hours only.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Repository
+@Profile("!reactive & !memory")
+public class UserStatistics implements MeterBinder {
+
+    private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+
+    private static final String COUNT_USERS =
+            "select count(*), count(case when is_active then 1 end) from \"user\"";
+
+    private static final String COUNT_BY_COUNTRY_CODE =
+            "select country_code, count(distinct user_id) from phone where country_code is not null "
+                    + "group by country_code";
+
+    private static final String COUNT_BY_HOUR =
+            "select date_trunc('HOUR', created), count(*) from \"user\" where created >= ? "
+                    + "group by date_trunc('HOUR', created)";
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAdder active = new LongAdder();
+
+    private final ConcurrentHashMap<String, LongAdder> byCountryCode = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, LongAdder> byHour = new ConcurrentHashMap<>();
+
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    private final LongAdder corrections = new LongAdder();
+
+    private volatile Date reconciledAt;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int hours;
+
+    /**
+     * Creates the counters, empty until the first reconciliation.
+     *
+     * @param jdbcTemplate the template used by the aggregate queries.
+     * @param hours the number of hours, including the current one, whose registrations are counted.
+     */
+    public UserStatistics(JdbcTemplate jdbcTemplate, @Value("${custom.stats.hours:24}") int hours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hours = hours;
+    }
+
+    /**
+     * Records the registration of a user.
+     *
+     * @param active whether the user is active.
+     * @param created the date and time the user was created.
+     * @param countryCodes the country codes of the phones of the user; duplicates and {@code null}s are ignored.
+     */
+    public void recordCreated(boolean active, Date created, Collection<String> countryCodes) {
+        record(1, active, created, countryCodes);
+    }
+
+    /**
+     * Records the deletion of a user.
+     *
+     * @param active whether the user was active.
+     * @param created the date and time the user was created.
+     * @param countryCodes the country codes of the phones the user had; duplicates and {@code null}s are ignored.
+     */
+    public void recordDeleted(boolean active, Date created, Collection<String> countryCodes) {
+        record(-1, active, created, countryCodes);
+    }
+
+    /**
+     * Records a change of the phones of a user.
+     *
+     * @param before the country codes of the phones before the change.
+     * @param after the country codes of the phones after the change.
+     */
+    public void recordCountryCodesChanged(Collection<String> before, Collection<String> after) {
+        Set<String> removed = distinct(before);
+        Set<String> added = distinct(after);
+        removed.stream().filter(code -> !added.contains(code))
+                .forEach(code -> counter(byCountryCode, code).decrement());
+        added.stream().filter(code -> !removed.contains(code))
+                .forEach(code -> counter(byCountryCode, code).increment());
+    }
+
+    private void record(int delta, boolean active, Date created, Collection<String> countryCodes) {
+        total.add(delta);
+        if (active) {
+            this.active.add(delta);
+        }
+        distinct(countryCodes).forEach(code -> counter(byCountryCode, code).add(delta));
+        long hour = created.getTime() / HOUR_MILLIS;
+        if (hour >= firstHour()) {
+            counter(byHour, hour).add(delta);
+        }
+    }
+
+    /**
+     * Returns the current statistics, read from the counters only.
+     *
+     * @return the statistics, with the country codes and hours in ascending order.
+     */
+    public UserStatsResponse snapshot() {
+        UserStatsResponse stats = new UserStatsResponse();
+        stats.setTotal(total.sum());
+        stats.setActive(active.sum());
+
+        Map<String, Long> countries = new TreeMap<>();
+        byCountryCode.forEach((code, counter) -> {
+            long users = counter.sum();
+            if (users > 0) {
+                countries.put(code, users);
+            }
+        });
+        stats.setByCountryCode(countries);
+
+        long firstHour = firstHour();
+        Map<String, Long> registrations = new TreeMap<>();
+        byHour.forEach((hour, counter) -> {
+            long users = counter.sum();
+            if (hour >= firstHour && users > 0) {
+                registrations.put(Instant.ofEpochMilli(hour * HOUR_MILLIS).toString(), users);
+            }
+        });
+        stats.setRegistrationsPerHour(registrations);
+        stats.setReconciledAt(reconciledAt);
+        return stats;
+    }
+
+    /**
+     * Rebuilds the counters from the database once the schema exists and the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reconcile();
+    }
+
+    /**
+     * Corrects the counters with the counts of the aggregate queries, and forgets the hours that are no longer
+     * counted.
+     */
+    @Scheduled(initialDelayString = "${custom.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${custom.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            long totalBefore = total.sum();
+            long activeBefore = active.sum();
+            long[] users = jdbcTemplate.query(COUNT_USERS, rs -> {
+                rs.next();
+                return new long[]{rs.getLong(1), rs.getLong(2)};
+            });
+            correct(total, totalBefore, users[0]);
+            correct(active, activeBefore, users[1]);
+
+            Map<String, Long> countriesBefore = sums(byCountryCode);
+            Map<String, Long> countries = new HashMap<>();
+            jdbcTemplate.query(COUNT_BY_COUNTRY_CODE,
+                    (RowCallbackHandler) rs -> countries.put(rs.getString(1), rs.getLong(2)));
+            correct(byCountryCode, countriesBefore, countries);
+
+            long firstHour = firstHour();
+            byHour.keySet().removeIf(hour -> hour < firstHour);
+            Map<Long, Long> hoursBefore = sums(byHour);
+            Map<Long, Long> registrations = new HashMap<>();
+            jdbcTemplate.query(COUNT_BY_HOUR,
+                    (RowCallbackHandler) rs -> registrations.put(
+                            rs.getTimestamp(1).getTime() / HOUR_MILLIS, rs.getLong(2)),
+                    new Timestamp(firstHour * HOUR_MILLIS));
+            correct(byHour, hoursBefore, registrations);
+
+            reconciledAt = new Date();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    /**
+     * Registers the {@code user.stats.*} metrics.
+     *
+     * @param registry the registry to bind to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.stats.total", total, LongAdder::sum)
+                .description("Users, as counted by the statistics")
+                .register(registry);
+        Gauge.builder("user.stats.active", active, LongAdder::sum)
+                .description("Active users, as counted by the statistics")
+                .register(registry);
+        FunctionCounter.builder("user.stats.corrections", corrections, LongAdder::sum)
+                .description("Total difference between the counters and the database found by reconciliations")
+                .register(registry);
+    }
+
+    private <K> void correct(ConcurrentHashMap<K, LongAdder> counters, Map<K, Long> before, Map<K, Long> actual) {
+        Set<K> keys = new HashSet<>(before.keySet());
+        keys.addAll(actual.keySet());
+        for (K key : keys) {
+            correct(counter(counters, key), before.getOrDefault(key, 0L), actual.getOrDefault(key, 0L));
+        }
+    }
+
+    /**
+     * Adds to a counter the difference between its value before the query and the value in the database.
+     * The first reconciliation builds the counters, so it is not counted as a correction.
+     */
+    private void correct(LongAdder counter, long before, long actual) {
+        long drift = actual - before;
+        counter.add(drift);
+        if (reconciledAt != null) {
+            corrections.add(Math.abs(drift));
+        }
+    }
+
+    private long firstHour() {
+        return System.currentTimeMillis() / HOUR_MILLIS - hours + 1;
+    }
+
+    private static <K> LongAdder counter(ConcurrentHashMap<K, LongAdder> counters, K key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static <K> Map<K, Long> sums(Map<K, LongAdder> counters) {
+        Map<K, Long> sums = new HashMap<>();
+        counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+        return sums;
+    }
+
+    private static Set<String> distinct(Collection<String> countryCodes) {
+        Set<String> distinct = new HashSet<>();
+        if (countryCodes != null) {
+            countryCodes.stream().filter(Objects::nonNull).forEach(distinct::add);
+        }
+        return distinct;
+    }
+}
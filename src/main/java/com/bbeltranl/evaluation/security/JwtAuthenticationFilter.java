@@ -0,0 +1,80 @@
+package com.bbeltranl.evaluation.security;
+
+import com.bbeltranl.evaluation.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Servlet filter that requires a valid bearer token on the protected endpoints.
+ * <p>
+ * The token is checked with {@link TokenService#verifyToken(String)}, which only validates the signature
+ * and expiration, so no database lookup is involved. Registration and login requests are let through since
+ * that is where tokens are issued. On success the token subject is exposed as the {@value #SUBJECT_ATTRIBUTE}
+ * request attribute; otherwise a JSON-formatted error message with a 401 status code is returned.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the subject of the verified token.
+     */
+    public static final String SUBJECT_ATTRIBUTE = "authenticatedSubject";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+
+    /**
+     * Creates the filter.
+     *
+     * @param tokenService the service used to verify tokens.
+     */
+    public JwtAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return HttpMethod.POST.matches(request.getMethod()) && (path.equals("/users/") || path.equals("/users/batch")
+                || path.equals("/users/login"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            reject(response, "Token requerido");
+            return;
+        }
+        try {
+            String subject = tokenService.verifyToken(header.substring(BEARER_PREFIX.length()).trim());
+            request.setAttribute(SUBJECT_ATTRIBUTE, subject);
+        } catch (IllegalArgumentException e) {
+            reject(response, e.getMessage());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"mensaje\": \"" + message + "\"}");
+    }
+}
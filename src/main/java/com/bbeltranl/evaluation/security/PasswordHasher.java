@@ -0,0 +1,269 @@
+package com.bbeltranl.evaluation.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hashes and verifies passwords with BCrypt on a dedicated, bounded pool of worker threads.
+ * <p>
+ * Hashing is deliberately CPU-heavy, so it never runs on the calling thread: at most
+ * {@code custom.password.threads} hashes run at the same time and at most {@code custom.password.queue-capacity}
+ * more wait for a worker. Work submitted beyond that is rejected with a {@link RejectedExecutionException},
+ * which the web layer turns into {@code 503 Service Unavailable}, instead of piling up behind the request threads.
+ * </p>
+ * <p>
+ * The BCrypt cost is {@code custom.password.cost} when set; otherwise it is calibrated on startup to the highest
+ * cost whose hash time does not exceed {@code custom.password.target-latency}, and never below
+ * {@code custom.password.min-cost}. Queue depth, active workers, hash time and rejections are published as
+ * {@code password.hash.*} metrics.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class PasswordHasher implements MeterBinder {
+
+    /**
+     * Lowest cost accepted by BCrypt.
+     */
+    private static final int BCRYPT_MIN_COST = 4;
+
+    /**
+     * Highest cost accepted by BCrypt.
+     */
+    private static final int BCRYPT_MAX_COST = 31;
+
+    /**
+     * Cost at which the hash time is measured during calibration.
+     */
+    private static final int CALIBRATION_COST = 8;
+
+    private final int cost;
+
+    private final BCryptPasswordEncoder encoder;
+
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder hashCount = new LongAdder();
+
+    private final LongAdder hashNanos = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates the hasher and its worker pool.
+     *
+     * @param cost the BCrypt cost, or {@code 0} to calibrate it to {@code targetLatency}.
+     * @param minCost the lowest cost that calibration may choose.
+     * @param targetLatency the hash time that calibration aims for.
+     * @param threads the number of worker threads, or {@code 0} for one per available processor.
+     * @param queueCapacity the number of hashes that may wait for a worker before new ones are rejected.
+     */
+    public PasswordHasher(@Value("${custom.password.cost:0}") int cost,
+                          @Value("${custom.password.min-cost:10}") int minCost,
+                          @Value("${custom.password.target-latency:100ms}") Duration targetLatency,
+                          @Value("${custom.password.threads:0}") int threads,
+                          @Value("${custom.password.queue-capacity:64}") int queueCapacity) {
+        this.cost = cost > 0 ? cost : calibrate(minCost, targetLatency);
+        this.encoder = new BCryptPasswordEncoder(this.cost);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Servicio ocupado, intente nuevamente más tarde");
+                });
+    }
+
+    /**
+     * Hashes a password, waiting for a worker to compute it.
+     *
+     * @param rawPassword the password to hash.
+     * @return the BCrypt hash of the password, or {@code null} if {@code rawPassword} is {@code null}.
+     * @throws RejectedExecutionException if the worker pool is saturated.
+     */
+    public String hash(String rawPassword) {
+        if (rawPassword == null) {
+            return null;
+        }
+        return await(hashAsync(rawPassword));
+    }
+
+    /**
+     * Hashes a password on a worker without waiting for it.
+     *
+     * @param rawPassword the password to hash.
+     * @return a {@link CompletableFuture} completed with the BCrypt hash of the password.
+     * @throws RejectedExecutionException if the worker pool is saturated.
+     */
+    public CompletableFuture<String> hashAsync(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> encode(rawPassword), executor);
+    }
+
+    /**
+     * Hashes several passwords, waiting for all of them.
+     *
+     * @param rawPasswords the passwords to hash.
+     * @return the BCrypt hashes, in the same order; {@code null} passwords are left {@code null}.
+     * @throws RejectedExecutionException if the worker pool is saturated.
+     * @see #hashAllAsync(List)
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        return await(hashAllAsync(rawPasswords));
+    }
+
+    /**
+     * Hashes several passwords on the workers without waiting for them.
+     * <p>
+     * The passwords are split into one slice per worker and each slice is hashed as a single task, so a
+     * large batch takes as many queue slots as there are workers rather than one per password.
+     * </p>
+     *
+     * @param rawPasswords the passwords to hash.
+     * @return a {@link CompletableFuture} completed with the BCrypt hashes, in the same order; {@code null}
+     *         passwords are left {@code null}.
+     * @throws RejectedExecutionException if the worker pool is saturated.
+     */
+    public CompletableFuture<List<String>> hashAllAsync(List<String> rawPasswords) {
+        int slices = Math.min(executor.getMaximumPoolSize(), rawPasswords.size());
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            List<String> part = rawPasswords.subList(rawPasswords.size() * slice / slices,
+                    rawPasswords.size() * (slice + 1) / slices);
+            futures.add(CompletableFuture.supplyAsync(() -> part.stream().map(this::encode).toList(), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            List<String> hashes = new ArrayList<>(rawPasswords.size());
+            futures.forEach(future -> hashes.addAll(future.join()));
+            return hashes;
+        });
+    }
+
+    /**
+     * Checks a password against a stored hash, waiting for a worker to compute it.
+     *
+     * @param rawPassword the password to check.
+     * @param hash the stored BCrypt hash.
+     * @return {@code true} if the password matches the hash.
+     * @throws RejectedExecutionException if the worker pool is saturated.
+     */
+    public boolean matches(String rawPassword, String hash) {
+        return await(CompletableFuture.supplyAsync(() -> encoder.matches(rawPassword, hash), executor));
+    }
+
+    /**
+     * Returns the BCrypt cost in use.
+     *
+     * @return the cost.
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Registers the {@code password.hash.*} metrics.
+     *
+     * @param registry the registry to bind to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a worker")
+                .register(registry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes being computed")
+                .register(registry);
+        Gauge.builder("password.hash.cost", this, PasswordHasher::getCost)
+                .description("BCrypt cost of password hashes")
+                .register(registry);
+        FunctionTimer.builder("password.hash", this,
+                        hasher -> hasher.hashCount.sum(), hasher -> hasher.hashNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time spent computing password hashes")
+                .register(registry);
+        FunctionCounter.builder("password.hash.rejected", rejected, LongAdder::sum)
+                .description("Password hashes rejected because the worker pool was saturated")
+                .register(registry);
+    }
+
+    /**
+     * Stops the worker pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private String encode(String rawPassword) {
+        if (rawPassword == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        String hash = encoder.encode(rawPassword);
+        hashNanos.add(System.nanoTime() - start);
+        hashCount.increment();
+        return hash;
+    }
+
+    /**
+     * Chooses the highest cost whose hash time does not exceed the target.
+     * <p>
+     * The hash time is measured once at a low cost and extrapolated, since every extra cost unit doubles it.
+     * </p>
+     *
+     * @param minCost the lowest cost to return.
+     * @param targetLatency the hash time to aim for.
+     * @return the calibrated cost.
+     */
+    private static int calibrate(int minCost, Duration targetLatency) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_COST);
+        probe.encode("calibration");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long nanos = Math.max(1, System.nanoTime() - start);
+
+        int calibrated = CALIBRATION_COST;
+        while (calibrated < BCRYPT_MAX_COST && nanos * 2 <= targetLatency.toNanos()) {
+            nanos *= 2;
+            calibrated++;
+        }
+        while (calibrated > BCRYPT_MIN_COST && nanos > targetLatency.toNanos()) {
+            nanos /= 2;
+            calibrated--;
+        }
+        return Math.max(calibrated, Math.max(minCost, BCRYPT_MIN_COST));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
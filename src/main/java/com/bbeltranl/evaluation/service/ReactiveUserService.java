@@ -0,0 +1,108 @@
+package com.bbeltranl.evaluation.service;
+
+import com.bbeltranl.evaluation.dto.BatchItemResult;
+import com.bbeltranl.evaluation.dto.CursorPage;
+import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.dto.UserVersion;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.model.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link UserService}.
+ * <p>
+ * Every operation has the same semantics as in {@link UserService}, but returns a {@link Mono} or a
+ * {@link Flux} instead of blocking the calling thread. Errors that {@link UserService} throws as
+ * {@link IllegalArgumentException} are signalled as {@link IllegalArgumentException} errors with the same
+ * messages.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface ReactiveUserService {
+
+    /**
+     * Registers a new user based on the information provided in {@code userRequest}.
+     *
+     * @param user the request object containing user information to be registered.
+     * @return a {@link Mono} emitting the {@link User} entity that has been registered.
+     */
+    Mono<User> registerUser(UserRequest user);
+
+    /**
+     * Registers a list of users in bulk.
+     *
+     * @param users the request objects containing the users to be registered.
+     * @return a {@link Mono} emitting one {@link BatchItemResult} per request, in the same order.
+     */
+    Mono<List<BatchItemResult>> registerUsers(List<UserRequest> users);
+
+    /**
+     * Retrieves one page of users using keyset pagination.
+     *
+     * @param cursor the opaque continuation token of the previous page, or {@code null} for the first page.
+     * @param size the requested page size; it is capped to the configured maximum.
+     * @return a {@link Mono} emitting a {@link CursorPage} with the read model of the users of the page.
+     */
+    Mono<CursorPage<UserView>> listPage(String cursor, Integer size);
+
+    /**
+     * Exports every user with its phones, ordered by identifier.
+     *
+     * @return a {@link Flux} of the read model of each user, emitted while the users are read.
+     */
+    Flux<UserView> exportUsers();
+
+    /**
+     * Retrieves a user based on the provided unique identifier (UUID).
+     *
+     * @param id The unique identifier of the user to retrieve.
+     * @return a {@link Mono} emitting the {@link UserView} of the user corresponding to the provided ID.
+     */
+    Mono<UserView> getUserById(UUID id);
+
+    /**
+     * Retrieves a user based on the provided email address.
+     *
+     * @param email The email address of the user to retrieve.
+     * @return a {@link Mono} emitting the {@link UserView} of the user corresponding to the provided email.
+     */
+    Mono<UserView> getUserByEmail(String email);
+
+    /**
+     * Retrieves the {@code modified} and last-login timestamps of a user, which identify the version of the
+     * {@link UserView} of the user.
+     *
+     * @param id The unique identifier of the user.
+     * @return a {@link Mono} emitting the {@link UserVersion} of the user.
+     */
+    Mono<UserVersion> getVersion(UUID id);
+
+    /**
+     * Deletes a user based on the provided unique identifier (UUID).
+     *
+     * @param id The unique identifier of the user to be deleted.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null} to delete
+     *                         it unconditionally.
+     * @return a {@link Mono} that completes when the user has been deleted.
+     */
+    Mono<Void> deleteUserById(UUID id, Date expectedModified);
+
+    /**
+     * Updates the user with the specified unique identifier (UUID) using the provided user request data.
+     *
+     * @param id The unique identifier of the user to be updated.
+     * @param userRequest The request object containing the fields to update in the user.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null} to update
+     *                         it unconditionally.
+     * @return a {@link Mono} emitting the {@link UserView} of the updated user.
+     */
+    Mono<UserView> updateUser(UUID id, UserRequest userRequest, Date expectedModified);
+}
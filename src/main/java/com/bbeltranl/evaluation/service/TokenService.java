@@ -0,0 +1,28 @@
+package com.bbeltranl.evaluation.service;
+
+/**
+ * Service interface for issuing and verifying authentication tokens.
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface TokenService {
+
+    /**
+     * Generates a signed token for the given subject.
+     *
+     * @param subject the subject of the token, usually the user's email.
+     * @return the generated token.
+     */
+    String generateToken(String subject);
+
+    /**
+     * Verifies the signature and expiration of a token.
+     *
+     * @param token the token to verify.
+     * @return the subject of the token.
+     * @throws IllegalArgumentException if the token is malformed, expired or not signed by a known key.
+     */
+    String verifyToken(String token);
+}
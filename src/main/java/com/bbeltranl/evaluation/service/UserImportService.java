@@ -0,0 +1,55 @@
+package com.bbeltranl.evaluation.service;
+
+import com.bbeltranl.evaluation.dto.ImportJob;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Service interface for bulk imports of users from files.
+ * <p>
+ * Import files live in a configured import directory. An import reads its file incrementally, registers
+ * the valid records in batches and writes the rejected ones, with the reason, to a separate file. Its
+ * progress is checkpointed after every batch, so an import that did not finish can be resumed where it
+ * stopped.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface UserImportService {
+
+    /**
+     * Stores an uploaded file in the import directory.
+     *
+     * @param fileName the original name of the file; its extension is kept.
+     * @param content the content of the file.
+     * @return the name of the stored file, relative to the import directory.
+     * @throws IOException if the file cannot be written.
+     */
+    String store(String fileName, InputStream content) throws IOException;
+
+    /**
+     * Starts importing a file of the import directory in the background.
+     *
+     * @param source the name of the file, relative to the import directory.
+     * @param format the format of the file, or {@code null} to infer it from its extension.
+     * @param offset the number of the first record to import, or {@code null} to resume from the checkpoint
+     *               of a previous import of the same file, if any.
+     * @return the {@link ImportJob} of the started import.
+     * @throws IllegalArgumentException if the file does not exist or is outside the import directory.
+     * @throws IllegalStateException if the file is already being imported.
+     */
+    ImportJob startImport(String source, ImportJob.Format format, Long offset);
+
+    /**
+     * Retrieves the state and progress of an import.
+     *
+     * @param id the unique identifier of the import.
+     * @return the {@link ImportJob} of the import.
+     * @throws IllegalArgumentException if the import does not exist.
+     */
+    ImportJob getJob(UUID id);
+}
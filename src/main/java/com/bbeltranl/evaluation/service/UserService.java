@@ -1,10 +1,18 @@
 package com.bbeltranl.evaluation.service;
 
+import com.bbeltranl.evaluation.dto.BatchItemResult;
+import com.bbeltranl.evaluation.dto.CursorPage;
 import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.dto.UserResponse;
+import com.bbeltranl.evaluation.dto.UserSearchCriteria;
+import com.bbeltranl.evaluation.dto.UserVersion;
+import com.bbeltranl.evaluation.dto.UserView;
 import com.bbeltranl.evaluation.model.User;
 
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service interface for user-related operations.
@@ -28,6 +36,18 @@ public interface UserService {
      */
     User registerUser(UserRequest user);
 
+    /**
+     * Registers a list of users in bulk.
+     * <p>
+     * Invalid or duplicated items do not prevent the rest of the list from being registered; the outcome
+     * of every item is reported in the returned list.
+     * </p>
+     *
+     * @param users the request objects containing the users to be registered.
+     * @return one {@link BatchItemResult} per request, in the same order.
+     */
+    List<BatchItemResult> registerUsers(List<UserRequest> users);
+
     /**
      * Retrieves a list of all users from the data repository.
      *
@@ -35,27 +55,101 @@ public interface UserService {
      */
     List<User> listAll();
 
+    /**
+     * Retrieves one page of users using keyset pagination.
+     * <p>
+     * Users are returned in a stable order. The {@code nextCursor} of the returned page must be
+     * passed as {@code cursor} to obtain the following page.
+     * </p>
+     *
+     * @param cursor the opaque continuation token of the previous page, or {@code null} for the first page.
+     * @param size the requested page size; it is capped to the configured maximum.
+     * @return a {@link CursorPage} with the read model of the users of the page.
+     */
+    CursorPage<UserView> listPage(String cursor, Integer size);
+
+    /**
+     * Searches users with optional filters, using keyset pagination.
+     * <p>
+     * Users searched by name are returned ordered by lower-cased name and then by identifier, and all other
+     * searches in the same order as {@link #listPage(String, Integer)}. The {@code nextCursor} of the returned
+     * page must be passed as {@code cursor}, with the same criteria, to obtain the following page.
+     * </p>
+     *
+     * @param criteria the filters of the search.
+     * @param cursor the opaque continuation token of the previous page, or {@code null} for the first page.
+     * @param size the requested page size; it is capped to the configured maximum.
+     * @return a {@link CursorPage} with the read model of the matching users of the page.
+     */
+    CursorPage<UserView> search(UserSearchCriteria criteria, String cursor, Integer size);
+
+    /**
+     * Exports every user with its phones, ordered by identifier.
+     * <p>
+     * Users are handed to {@code consumer} one at a time while they are read, so the memory used does not
+     * depend on the number of users.
+     * </p>
+     *
+     * @param consumer the consumer that receives the read model of each user.
+     * @return the number of users exported.
+     */
+    long exportUsers(Consumer<UserView> consumer);
+
     /**
      * Retrieves a user based on the provided unique identifier (UUID).
      *
      * @param id The unique identifier of the user to retrieve.
-     * @return The {@link User} object corresponding to the provided ID.
+     * @return The {@link UserView} of the user corresponding to the provided ID.
+     */
+    UserView getUserById(UUID id);
+
+    /**
+     * Retrieves a user based on the provided email address.
+     *
+     * @param email The email address of the user to retrieve.
+     * @return The {@link UserView} of the user corresponding to the provided email.
+     */
+    UserView getUserByEmail(String email);
+
+    /**
+     * Retrieves the {@code modified} and last-login timestamps of a user, which identify the version of the
+     * {@link UserView} of the user.
+     *
+     * @param id The unique identifier of the user.
+     * @return The {@link UserVersion} of the user.
      */
-    User getUserById(UUID id);
+    UserVersion getVersion(UUID id);
 
     /**
      * Deletes a user based on the provided unique identifier (UUID).
      *
      * @param id The unique identifier of the user to be deleted.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null} to delete
+     *                         it unconditionally.
      */
-    void deleteUserById(UUID id);
+    void deleteUserById(UUID id, Date expectedModified);
 
     /**
      * Updates the user with the specified unique identifier (UUID) using the provided user request data.
      *
      * @param id The unique identifier of the user to be updated.
      * @param userRequest The request object containing the fields to update in the user.
-     * @return The updated {@link User} object after the changes have been applied.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null} to update
+     *                         it unconditionally.
+     * @return The {@link UserView} of the user after the changes have been applied.
+     */
+    UserView updateUser(UUID id, UserRequest userRequest, Date expectedModified);
+
+    /**
+     * Logs a user in with their email address and password.
+     * <p>
+     * The last-login timestamp of the user is recorded in memory rather than written with the login; it reaches
+     * the database with the next periodic flush, so it may not show in the user for a few seconds.
+     * </p>
+     *
+     * @param email The email address of the user; it is matched case-insensitively.
+     * @param password The password of the user.
+     * @return The {@link UserResponse} of the user, with the new last-login timestamp and a new token.
      */
-    User updateUser(UUID id, UserRequest userRequest);
+    UserResponse login(String email, String password);
 }
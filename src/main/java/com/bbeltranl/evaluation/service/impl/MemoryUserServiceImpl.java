@@ -0,0 +1,431 @@
+package com.bbeltranl.evaluation.service.impl;
+
+import com.bbeltranl.evaluation.dto.BatchItemResult;
+import com.bbeltranl.evaluation.dto.CursorPage;
+import com.bbeltranl.evaluation.dto.UserChangeEvent;
+import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.dto.UserResponse;
+import com.bbeltranl.evaluation.dto.UserSearchCriteria;
+import com.bbeltranl.evaluation.dto.UserVersion;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.exception.EmailConflictException;
+import com.bbeltranl.evaluation.exception.PreconditionFailedException;
+import com.bbeltranl.evaluation.feed.UserChangeFeed;
+import com.bbeltranl.evaluation.model.User;
+import com.bbeltranl.evaluation.repository.InMemoryUserStore;
+import com.bbeltranl.evaluation.repository.LastLoginBuffer;
+import com.bbeltranl.evaluation.security.PasswordHasher;
+import com.bbeltranl.evaluation.service.TokenService;
+import com.bbeltranl.evaluation.service.UserService;
+import com.bbeltranl.evaluation.util.CursorCodec;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of {@link UserService} backed by the {@link InMemoryUserStore}, used with the {@code memory}
+ * profile.
+ * <p>
+ * Every read is served from memory, and writes reach the database behind the request as configured by
+ * {@code custom.store.durability}. The behaviour seen by clients is the same as with {@link UserServiceImpl}:
+ * the same validation, status codes, ordering, cursors and versions. Passwords are hashed by the
+ * {@link PasswordHasher} before the store is changed, and every change is published to the {@link UserChangeFeed}
+ * once the store has applied it.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Service
+@Profile("memory")
+@Timed(value = UserServiceImpl.METRIC, histogram = true)
+public class MemoryUserServiceImpl implements UserService {
+
+    @Autowired
+    private InMemoryUserStore userStore;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Autowired
+    private UserChangeFeed userChangeFeed;
+
+    @Value("${custom.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${custom.pagination.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${custom.batch.max-items:5000}")
+    private int batchMaxItems;
+
+    @Value("${custom.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    /**
+     * Registers a new user based on the information provided in {@code userRequest}.
+     *
+     * @param userRequest the request object containing user information to be registered.
+     * @return the {@link User} that has been registered.
+     * @throws IllegalArgumentException if a user with the same email already exists.
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated.
+     */
+    @Override
+    public User registerUser(UserRequest userRequest) {
+        User registered = userStore.insert(newUser(userRequest, passwordHasher.hash(userRequest.getPassword())));
+        userChangeFeed.publish(UserChangeEvent.Type.CREATED, registered.getId(), UserView.from(registered));
+        return registered;
+    }
+
+    /**
+     * Registers a list of users in bulk.
+     * <p>
+     * Every request is validated first; the passwords of the valid ones are hashed in chunks of
+     * {@code custom.batch.chunk-size}, and each chunk is inserted into the store at once, so it is written to
+     * the database together.
+     * </p>
+     *
+     * @param userRequests the request objects containing the users to be registered.
+     * @return one {@link BatchItemResult} per request, in the same order.
+     * @throws IllegalArgumentException if the list exceeds {@code custom.batch.max-items}.
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated.
+     */
+    @Override
+    public List<BatchItemResult> registerUsers(List<UserRequest> userRequests) {
+        if (userRequests.size() > batchMaxItems) {
+            throw new IllegalArgumentException("Se permiten como máximo " + batchMaxItems + " usuarios por lote");
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(userRequests.size());
+        List<BatchItemResult> pending = new ArrayList<>();
+        for (int i = 0; i < userRequests.size(); i++) {
+            UserRequest request = userRequests.get(i);
+            BatchItemResult result = new BatchItemResult();
+            result.setIndex(i);
+            result.setEmail(UserServiceImpl.normalizeEmail(request.getEmail()));
+
+            Set<ConstraintViolation<UserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new HashMap<>();
+                violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                result.setStatus(400);
+                result.setErrors(errors);
+            } else {
+                pending.add(result);
+            }
+            results.add(result);
+        }
+
+        for (int from = 0; from < pending.size(); from += batchChunkSize) {
+            List<BatchItemResult> chunk = pending.subList(from, Math.min(from + batchChunkSize, pending.size()));
+            List<String> hashes = passwordHasher.hashAll(
+                    chunk.stream().map(result -> userRequests.get(result.getIndex()).getPassword()).toList());
+            List<User> users = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                users.add(newUser(userRequests.get(chunk.get(i).getIndex()), hashes.get(i)));
+            }
+            List<User> inserted = userStore.insertAll(users);
+            for (int i = 0; i < chunk.size(); i++) {
+                BatchItemResult result = chunk.get(i);
+                if (inserted.get(i) == null) {
+                    result.setStatus(409);
+                    result.setMensaje("El correo ya registrado");
+                } else {
+                    result.setStatus(201);
+                    result.setId(inserted.get(i).getId());
+                    result.setToken(inserted.get(i).getToken());
+                    userChangeFeed.publish(UserChangeEvent.Type.CREATED, inserted.get(i).getId(),
+                            UserView.from(inserted.get(i)));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Retrieves a list of all users from the store.
+     *
+     * @return a {@link List} of {@link User} entities.
+     */
+    @Override
+    public List<User> listAll() {
+        return userStore.findAll();
+    }
+
+    /**
+     * Retrieves one page of users ordered by identifier.
+     *
+     * @param cursor the opaque continuation token of the previous page, or {@code null} for the first page.
+     * @param size the requested page size; {@code null} or non-positive values use the default size.
+     * @return a {@link CursorPage} with the read model of the users of the page.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Override
+    public CursorPage<UserView> listPage(String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        UUID after = cursor == null || cursor.isBlank() ? null : CursorCodec.decode(cursor);
+        List<UserView> users = userStore.findPage(after, pageSize + 1).stream().map(UserView::from).toList();
+
+        if (users.size() <= pageSize) {
+            return new CursorPage<>(users, null);
+        }
+        List<UserView> page = users.subList(0, pageSize);
+        return new CursorPage<>(page, CursorCodec.encode(page.get(pageSize - 1).getId()));
+    }
+
+    /**
+     * Searches users with optional filters, ordered by lower-cased name and identifier when searching by name,
+     * and by identifier otherwise, like the database search.
+     * <p>
+     * Searches by name walk the name index of the store from the prefix; other searches scan the store in
+     * identifier order. Either way each user is tested against the criteria from the cursor on, and the scan
+     * stops as soon as the page is full, so common filters only look at a few users beyond the page.
+     * </p>
+     *
+     * @param criteria the filters of the search.
+     * @param cursor the opaque continuation token of the previous page, or {@code null} for the first page.
+     * @param size the requested page size; {@code null} or non-positive values use the default size.
+     * @return a {@link CursorPage} with the read model of the matching users of the page.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Override
+    public CursorPage<UserView> search(UserSearchCriteria criteria, String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        boolean byName = hasText(criteria.getName());
+        boolean first = cursor == null || cursor.isBlank();
+        Predicate<User> matcher = matcher(criteria);
+        List<User> found;
+        if (byName) {
+            CursorCodec.Position position = first ? null : CursorCodec.decodeKeyed(cursor);
+            found = userStore.findPageByNamePrefix(criteria.getName().trim().toLowerCase(Locale.ROOT),
+                    position == null ? null : position.key(), position == null ? null : position.id(),
+                    pageSize + 1, matcher);
+        } else {
+            found = userStore.findPage(first ? null : CursorCodec.decode(cursor), pageSize + 1, matcher);
+        }
+        List<UserView> users = found.stream().map(UserView::from).toList();
+
+        if (users.size() <= pageSize) {
+            return new CursorPage<>(users, null);
+        }
+        List<UserView> page = users.subList(0, pageSize);
+        UserView last = page.get(pageSize - 1);
+        return new CursorPage<>(page, byName ? CursorCodec.encode(UserServiceImpl.nameKey(last.getName()), last.getId())
+                : CursorCodec.encode(last.getId()));
+    }
+
+    /**
+     * Builds the test of the search criteria, with the same semantics as the database search.
+     *
+     * @param criteria the filters of the search.
+     * @return a {@link Predicate} that accepts the users matching every filter that is set.
+     */
+    private static Predicate<User> matcher(UserSearchCriteria criteria) {
+        Predicate<User> matcher = user -> true;
+        if (hasText(criteria.getName())) {
+            String prefix = criteria.getName().trim().toLowerCase(Locale.ROOT);
+            matcher = matcher.and(user -> user.getName() != null
+                    && user.getName().toLowerCase(Locale.ROOT).startsWith(prefix));
+        }
+        if (hasText(criteria.getEmailDomain())) {
+            String suffix = "@" + criteria.getEmailDomain().trim().toLowerCase(Locale.ROOT);
+            matcher = matcher.and(user -> user.getEmail().endsWith(suffix));
+        }
+        if (hasText(criteria.getCountryCode()) || hasText(criteria.getCityCode())) {
+            String countryCode = hasText(criteria.getCountryCode()) ? criteria.getCountryCode().trim() : null;
+            String cityCode = hasText(criteria.getCityCode()) ? criteria.getCityCode().trim() : null;
+            matcher = matcher.and(user -> user.getPhones().stream().anyMatch(phone ->
+                    (countryCode == null || countryCode.equals(phone.getCountryCode()))
+                            && (cityCode == null || cityCode.equals(phone.getCityCode()))));
+        }
+        if (criteria.getActive() != null) {
+            boolean active = criteria.getActive();
+            matcher = matcher.and(user -> user.isActive() == active);
+        }
+        return matcher;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * Exports every user with its phones, ordered by identifier, straight from the store.
+     *
+     * @param consumer the consumer that receives the read model of each user.
+     * @return the number of users exported.
+     */
+    @Override
+    public long exportUsers(Consumer<UserView> consumer) {
+        long[] exported = {0};
+        userStore.stream().forEach(user -> {
+            consumer.accept(UserView.from(user));
+            exported[0]++;
+        });
+        return exported[0];
+    }
+
+    /**
+     * Retrieves a user based on the provided unique identifier (UUID).
+     *
+     * @param id The unique identifier of the user to retrieve.
+     * @return The {@link UserView} of the user if found.
+     * @throws IllegalArgumentException if the user does not exist.
+     */
+    @Override
+    public UserView getUserById(UUID id) {
+        return userStore.findById(id).map(UserView::from)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+    }
+
+    /**
+     * Retrieves a user based on the provided email address.
+     *
+     * @param email The email address of the user to retrieve; it is matched case-insensitively.
+     * @return The {@link UserView} of the user if found.
+     * @throws IllegalArgumentException if the user does not exist.
+     */
+    @Override
+    public UserView getUserByEmail(String email) {
+        return userStore.findByEmail(UserServiceImpl.normalizeEmail(email)).map(UserView::from)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+    }
+
+    /**
+     * Retrieves the {@code modified} and last-login timestamps of a user; logins update the latter in the store
+     * right away.
+     *
+     * @param id The unique identifier of the user.
+     * @return The {@link UserVersion} of the user.
+     * @throws IllegalArgumentException if the user does not exist.
+     */
+    @Override
+    public UserVersion getVersion(UUID id) {
+        return userStore.findById(id).map(user -> new UserVersion(user.getModified(), user.getLastLogin()))
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+    }
+
+    /**
+     * Deletes a user based on the provided unique identifier (UUID).
+     *
+     * @param id The unique identifier of the user to be deleted.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null}.
+     * @throws IllegalArgumentException if the user does not exist.
+     * @throws PreconditionFailedException if the user has been modified since {@code expectedModified}.
+     */
+    @Override
+    public void deleteUserById(UUID id, Date expectedModified) {
+        userStore.delete(id, expectedModified);
+        userChangeFeed.publish(UserChangeEvent.Type.DELETED, id, null);
+    }
+
+    /**
+     * Updates a user's information based on the provided unique identifier (UUID) and the request data.
+     * <p>
+     * A new password is hashed first; the change is then applied to a copy of the user, with the phones
+     * reconciled as in {@link UserServiceImpl}, which replaces the stored user.
+     * </p>
+     *
+     * @param id The unique identifier of the user to be updated.
+     * @param userRequest The request object containing the fields to update in the user.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null}.
+     * @return The {@link UserView} of the user after the changes have been applied.
+     * @throws IllegalArgumentException if the user does not exist.
+     * @throws EmailConflictException if the new email is already registered.
+     * @throws PreconditionFailedException if the user has been modified since {@code expectedModified}.
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated.
+     */
+    @Override
+    public UserView updateUser(UUID id, UserRequest userRequest, Date expectedModified) {
+        String passwordHash = passwordHasher.hash(userRequest.getPassword());
+        Date modified = new Date();
+        User updated = userStore.update(id, expectedModified, user -> {
+            if(userRequest.getName()!=null) user.setName(userRequest.getName());
+            user.setModified(modified);
+            if(userRequest.getEmail()!=null) user.setEmail(UserServiceImpl.normalizeEmail(userRequest.getEmail()));
+            if(passwordHash!=null) user.setPassword(passwordHash);
+            if(userRequest.getPhones()!=null) UserServiceImpl.mergePhones(user.getPhones(), userRequest.getPhones());
+            return user;
+        });
+        UserView view = UserView.from(updated);
+        userChangeFeed.publish(UserChangeEvent.Type.UPDATED, id, view);
+        return view;
+    }
+
+    /**
+     * Logs a user in with their email address and password.
+     * <p>
+     * The new last-login timestamp is set on the stored user without marking it as changed, and written to the
+     * database by the {@link LastLoginBuffer} in a batch with the other logins.
+     * </p>
+     *
+     * @param email The email address of the user; it is matched case-insensitively.
+     * @param password The password of the user.
+     * @return The {@link UserResponse} of the user, with the new last-login timestamp and a new token.
+     * @throws IllegalArgumentException if the user does not exist, is inactive or the password does not match.
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated.
+     */
+    @Override
+    public UserResponse login(String email, String password) {
+        Optional<User> userOpt = userStore.findByEmail(UserServiceImpl.normalizeEmail(email));
+        if (userOpt.isEmpty() || !userOpt.get().isActive()
+                || !passwordHasher.matches(password, userOpt.get().getPassword())) {
+            throw new IllegalArgumentException("Usuario o contraseña inválidos");
+        }
+        User user = userOpt.get();
+        Date lastLogin = new Date();
+        userStore.touch(user.getId(), lastLogin);
+        lastLoginBuffer.record(user.getId(), lastLogin);
+
+        UserResponse response = new UserResponse();
+        response.setId(user.getId());
+        response.setCreated(user.getCreated());
+        response.setModified(user.getModified());
+        response.setLastLogin(lastLogin);
+        response.setToken(tokenService.generateToken(user.getEmail()));
+        response.setIsActive(true);
+        return response;
+    }
+
+    /**
+     * Builds a new, not yet stored, active {@link User} from a registration request.
+     *
+     * @param userRequest the request object containing user information to be registered.
+     * @param passwordHash the hash of the requested password.
+     * @return the new {@link User}.
+     */
+    private User newUser(UserRequest userRequest, String passwordHash) {
+        String email = UserServiceImpl.normalizeEmail(userRequest.getEmail());
+        Date now = new Date();
+
+        User user = new User();
+        user.setName(userRequest.getName());
+        user.setCreated(now);
+        user.setModified(now);
+        user.setLastLogin(now);
+        user.setEmail(email);
+        user.setPassword(passwordHash);
+        user.setToken(tokenService.generateToken(email));
+        user.setPhones(userRequest.getPhones() == null ? new ArrayList<>() : new ArrayList<>(userRequest.getPhones()));
+        user.setActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,418 @@
+package com.bbeltranl.evaluation.service.impl;
+
+import com.bbeltranl.evaluation.dto.BatchItemResult;
+import com.bbeltranl.evaluation.dto.CursorPage;
+import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.dto.UserVersion;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.exception.EmailConflictException;
+import com.bbeltranl.evaluation.exception.PreconditionFailedException;
+import com.bbeltranl.evaluation.model.User;
+import com.bbeltranl.evaluation.repository.ReactiveUserRepository;
+import com.bbeltranl.evaluation.security.PasswordHasher;
+import com.bbeltranl.evaluation.service.ReactiveUserService;
+import com.bbeltranl.evaluation.service.TokenService;
+import com.bbeltranl.evaluation.util.CursorCodec;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+
+/**
+ * Implementation of {@link ReactiveUserService} backed by the {@link ReactiveUserRepository}.
+ * <p>
+ * It follows the same rules as {@link UserServiceImpl}: emails are normalized, their uniqueness is enforced
+ * by the {@value User#EMAIL_INDEX} index, and bulk registrations are validated up front and inserted in
+ * chunks. Writes run inside the {@link TransactionalOperator} of the R2DBC connection factory. Passwords
+ * are hashed by the {@link PasswordHasher} without blocking the event loop. The user cache of the servlet
+ * stack is not used here.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Value("${custom.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${custom.pagination.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${custom.batch.max-items:5000}")
+    private int batchMaxItems;
+
+    @Value("${custom.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    /**
+     * Registers a new user based on the information provided in {@code userRequest}.
+     *
+     * @param userRequest the request object containing user information to be registered.
+     * @return a {@link Mono} emitting the registered user, or an {@link IllegalArgumentException} error if a
+     *         user with the same email already exists, or a
+     *         {@link java.util.concurrent.RejectedExecutionException} error if the password hashing pool is
+     *         saturated.
+     */
+    @Override
+    public Mono<User> registerUser(UserRequest userRequest) {
+        return hash(userRequest.getPassword())
+                .map(passwordHash -> newUser(userRequest, passwordHash.orElse(null)))
+                .flatMap(user -> userRepository.insert(user).as(transactionalOperator::transactional))
+                .onErrorMap(ReactiveUserServiceImpl::isEmailConflict,
+                        e -> new IllegalArgumentException("El correo ya registrado"));
+    }
+
+    /**
+     * Registers a list of users in bulk.
+     * <p>
+     * Every request is validated first, and all emails are checked against the database with a single
+     * {@code IN} query. The remaining users are inserted in chunks of {@code custom.batch.chunk-size}, each
+     * chunk in its own transaction. If a chunk fails because another request registered one of its emails in
+     * the meantime, its users are registered one by one to report the conflict on the right item.
+     * </p>
+     *
+     * @param userRequests the request objects containing the users to be registered.
+     * @return a {@link Mono} emitting one {@link BatchItemResult} per request, in the same order, or an
+     *         {@link IllegalArgumentException} error if the list exceeds {@code custom.batch.max-items}.
+     */
+    @Override
+    public Mono<List<BatchItemResult>> registerUsers(List<UserRequest> userRequests) {
+        if (userRequests.size() > batchMaxItems) {
+            return Mono.error(new IllegalArgumentException(
+                    "Se permiten como máximo " + batchMaxItems + " usuarios por lote"));
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(userRequests.size());
+        for (int i = 0; i < userRequests.size(); i++) {
+            UserRequest request = userRequests.get(i);
+            BatchItemResult result = new BatchItemResult();
+            result.setIndex(i);
+            result.setEmail(normalizeEmail(request.getEmail()));
+
+            Set<ConstraintViolation<UserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new HashMap<>();
+                violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                result.setStatus(400);
+                result.setErrors(errors);
+            }
+            results.add(result);
+        }
+
+        Set<String> emails = new HashSet<>();
+        results.stream().filter(result -> result.getStatus() == 0).forEach(result -> emails.add(result.getEmail()));
+        Mono<Set<String>> existing = emails.isEmpty()
+                ? Mono.just(new HashSet<>())
+                : userRepository.findExistingEmails(emails).collect(HashSet::new, Set::add);
+
+        return existing.flatMap(taken -> {
+            List<BatchItemResult> pending = new ArrayList<>();
+            for (BatchItemResult result : results) {
+                if (result.getStatus() != 0) {
+                    continue;
+                }
+                if (!taken.add(result.getEmail())) {
+                    result.setStatus(409);
+                    result.setMensaje("El correo ya registrado");
+                } else {
+                    pending.add(result);
+                }
+            }
+
+            List<List<BatchItemResult>> chunks = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += batchChunkSize) {
+                chunks.add(pending.subList(from, Math.min(from + batchChunkSize, pending.size())));
+            }
+            return Flux.fromIterable(chunks)
+                    .concatMap(chunk -> insertChunk(chunk, userRequests))
+                    .then(Mono.just(results));
+        });
+    }
+
+    /**
+     * Inserts one chunk of a bulk registration in a single transaction, falling back to one insert per
+     * user if the chunk violates the unique email index.
+     *
+     * @param chunk the results of the items to insert; they are completed with the outcome of each insert.
+     * @param userRequests the original requests, indexed by {@link BatchItemResult#getIndex()}.
+     * @return a {@link Mono} that completes when the chunk has been processed.
+     */
+    private Mono<Void> insertChunk(List<BatchItemResult> chunk, List<UserRequest> userRequests) {
+        List<User> users = new ArrayList<>(chunk.size());
+        return Mono.fromFuture(() -> passwordHasher.hashAllAsync(
+                        chunk.stream().map(result -> userRequests.get(result.getIndex()).getPassword()).toList()))
+                .flatMap(hashes -> {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        users.add(newUser(userRequests.get(chunk.get(i).getIndex()), hashes.get(i)));
+                    }
+                    return userRepository.insertAll(users).as(transactionalOperator::transactional);
+                })
+                .then(Mono.fromRunnable(() -> {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        markCreated(chunk.get(i), users.get(i));
+                    }
+                }))
+                .onErrorResume(ReactiveUserServiceImpl::isEmailConflict, e -> Flux.fromIterable(chunk)
+                        .concatMap(result -> registerUser(userRequests.get(result.getIndex()))
+                                .doOnNext(user -> markCreated(result, user))
+                                .onErrorResume(IllegalArgumentException.class, conflict -> {
+                                    result.setStatus(409);
+                                    result.setMensaje(conflict.getMessage());
+                                    return Mono.empty();
+                                }))
+                        .then())
+                .then();
+    }
+
+    /**
+     * Completes the result of a bulk registration item with the data of the created user.
+     *
+     * @param result the result to complete.
+     * @param user the user that has been inserted.
+     */
+    private static void markCreated(BatchItemResult result, User user) {
+        result.setStatus(201);
+        result.setId(user.getId());
+        result.setToken(user.getToken());
+    }
+
+    /**
+     * Retrieves one page of users ordered by identifier.
+     * <p>
+     * One extra row is fetched to know whether a following page exists, so no count query is needed.
+     * </p>
+     *
+     * @param cursor the opaque continuation token of the previous page, or {@code null} for the first page.
+     * @param size the requested page size; {@code null} or non-positive values use the default size.
+     * @return a {@link Mono} emitting a {@link CursorPage} with the read model of the users of the page, or an
+     *         {@link IllegalArgumentException} error if the cursor is malformed.
+     */
+    @Override
+    public Mono<CursorPage<UserView>> listPage(String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        return Mono.fromCallable(() -> cursor == null || cursor.isBlank() ? Optional.<UUID>empty()
+                        : Optional.of(CursorCodec.decode(cursor)))
+                .flatMap(after -> userRepository.findPage(after.orElse(null), pageSize + 1).collectList())
+                .map(users -> {
+                    List<UserView> page = users.stream().limit(pageSize).map(UserView::from).toList();
+                    if (users.size() <= pageSize) {
+                        return new CursorPage<>(page, null);
+                    }
+                    return new CursorPage<>(page, CursorCodec.encode(page.get(pageSize - 1).getId()));
+                });
+    }
+
+    /**
+     * Exports every user with its phones, ordered by identifier.
+     * <p>
+     * The users are streamed from a single query with backpressure, so the memory used does not depend on
+     * the number of users.
+     * </p>
+     *
+     * @return a {@link Flux} of the read model of each user.
+     */
+    @Override
+    public Flux<UserView> exportUsers() {
+        return userRepository.streamViews();
+    }
+
+    /**
+     * Retrieves a user based on the provided unique identifier (UUID).
+     *
+     * @param id The unique identifier of the user to retrieve.
+     * @return a {@link Mono} emitting the view of the user, or an {@link IllegalArgumentException} error if
+     *         not found.
+     */
+    @Override
+    public Mono<UserView> getUserById(UUID id) {
+        return userRepository.findById(id).map(UserView::from).switchIfEmpty(notFound());
+    }
+
+    /**
+     * Retrieves a user based on the provided email address.
+     *
+     * @param email The email address of the user to retrieve; it is matched case-insensitively.
+     * @return a {@link Mono} emitting the view of the user, or an {@link IllegalArgumentException} error if
+     *         not found.
+     */
+    @Override
+    public Mono<UserView> getUserByEmail(String email) {
+        return userRepository.findByEmail(normalizeEmail(email)).map(UserView::from).switchIfEmpty(notFound());
+    }
+
+    /**
+     * Retrieves the {@code modified} and last-login timestamps of a user, with a two-column query.
+     *
+     * @param id The unique identifier of the user.
+     * @return a {@link Mono} emitting the {@link UserVersion}, or an {@link IllegalArgumentException} error if
+     *         not found.
+     */
+    @Override
+    public Mono<UserVersion> getVersion(UUID id) {
+        return userRepository.findVersion(id).switchIfEmpty(notFound());
+    }
+
+    /**
+     * Deletes a user based on the provided unique identifier (UUID).
+     *
+     * @param id The unique identifier of the user to be deleted.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null}.
+     * @return a {@link Mono} that completes when the user has been deleted, or an
+     *         {@link IllegalArgumentException} error if not found, or a {@link PreconditionFailedException}
+     *         error if the user has been modified since {@code expectedModified}.
+     */
+    @Override
+    public Mono<Void> deleteUserById(UUID id, Date expectedModified) {
+        return userRepository.deleteById(id, expectedModified)
+                .flatMap(rows -> rows == 0 ? versionConflictOrNotFound(id, expectedModified) : Mono.empty())
+                .as(transactionalOperator::transactional)
+                .then();
+    }
+
+    /**
+     * Updates a user's information based on the provided unique identifier (UUID) and the request data.
+     * <p>
+     * When an expected version is given, the {@code modified} timestamp is first advanced with a
+     * compare-and-set {@code UPDATE} in the same transaction.
+     * </p>
+     *
+     * @param id The unique identifier of the user to be updated.
+     * @param userRequest The request object containing the fields to update in the user.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null}.
+     * @return a {@link Mono} emitting the view of the updated user, or an {@link IllegalArgumentException}
+     *         error if not found, or an {@link EmailConflictException} error if the new email is already
+     *         registered, or a {@link PreconditionFailedException} error if the user has been modified since
+     *         {@code expectedModified}.
+     */
+    @Override
+    public Mono<UserView> updateUser(UUID id, UserRequest userRequest, Date expectedModified) {
+        Date modified = new Date();
+        Mono<Void> precondition = expectedModified == null ? Mono.empty()
+                : userRepository.touchIfUnmodified(id, expectedModified, modified)
+                        .flatMap(rows -> rows == 0 ? versionConflictOrNotFound(id, expectedModified) : Mono.empty());
+        return hash(userRequest.getPassword()).flatMap(passwordHash -> precondition.then(userRepository.findById(id))
+                .switchIfEmpty(notFound())
+                .flatMap(user -> {
+                    if(userRequest.getName()!=null) user.setName(userRequest.getName());
+                    user.setModified(modified);
+                    if(userRequest.getEmail()!=null) user.setEmail(normalizeEmail(userRequest.getEmail()));
+                    passwordHash.ifPresent(user::setPassword);
+                    if(userRequest.getPhones()!=null) user.setPhones(userRequest.getPhones());
+                    return userRepository.update(user).thenReturn(UserView.from(user));
+                })
+                .as(transactionalOperator::transactional))
+                .onErrorMap(ReactiveUserServiceImpl::isEmailConflict, e -> new EmailConflictException());
+    }
+
+    /**
+     * Builds a new, not yet persisted, active {@link User} from a registration request.
+     *
+     * @param userRequest the request object containing user information to be registered.
+     * @param passwordHash the hash of the requested password.
+     * @return the new {@link User} entity.
+     */
+    private User newUser(UserRequest userRequest, String passwordHash) {
+        String email = normalizeEmail(userRequest.getEmail());
+
+        User user = new User();
+        user.setName(userRequest.getName());
+        user.setCreated(new Date());
+        user.setModified(new Date());
+        user.setLastLogin(new Date());
+        user.setEmail(email);
+        user.setPassword(passwordHash);
+        user.setToken(tokenService.generateToken(email));
+        user.setPhones(userRequest.getPhones());
+        user.setActive(true);
+        return user;
+    }
+
+    /**
+     * Hashes a password on the {@link PasswordHasher} workers.
+     *
+     * @param rawPassword the password to hash, or {@code null}.
+     * @return a {@link Mono} emitting the hash, or an empty {@link Optional} if {@code rawPassword} is
+     *         {@code null}.
+     */
+    private Mono<Optional<String>> hash(String rawPassword) {
+        if (rawPassword == null) {
+            return Mono.just(Optional.empty());
+        }
+        return Mono.fromFuture(() -> passwordHasher.hashAsync(rawPassword)).map(Optional::of);
+    }
+
+    /**
+     * Builds the error of a conditional write that matched no row.
+     *
+     * @param id the identifier of the user.
+     * @param expectedModified the version the write expected, or {@code null} if it was unconditional.
+     * @return a {@link Mono} failing with a {@link PreconditionFailedException} if the user still exists with
+     *         another version, or with an {@link IllegalArgumentException} if it does not exist.
+     */
+    private <T> Mono<T> versionConflictOrNotFound(UUID id, Date expectedModified) {
+        if (expectedModified == null) {
+            return notFound();
+        }
+        return userRepository.existsById(id)
+                .flatMap(exists -> exists ? Mono.error(new PreconditionFailedException()) : notFound());
+    }
+
+    private static <T> Mono<T> notFound() {
+        return Mono.error(() -> new IllegalArgumentException("Usuario no encontrado"));
+    }
+
+    /**
+     * Normalizes an email address to the form stored in the database (trimmed and lower-cased).
+     *
+     * @param email the email address as received.
+     * @return the normalized email address, or {@code null} if {@code email} is {@code null}.
+     */
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Checks whether a failed insert was caused by the unique email index.
+     * <p>
+     * R2DBC drivers only report the violated index in the error message.
+     * </p>
+     *
+     * @param e the error raised by the insert.
+     * @return {@code true} if the message of the error or of one of its causes names {@value User#EMAIL_INDEX}.
+     */
+    private static boolean isEmailConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(User.EMAIL_INDEX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
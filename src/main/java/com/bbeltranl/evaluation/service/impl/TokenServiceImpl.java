@@ -0,0 +1,129 @@
+package com.bbeltranl.evaluation.service.impl;
+
+import com.bbeltranl.evaluation.config.JwtProperties;
+import com.bbeltranl.evaluation.service.TokenService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.impl.TextCodec;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implementation of {@link TokenService} based on HS512-signed JWT tokens.
+ * <p>
+ * The signing keys are derived once from {@link JwtProperties} and cached by key id. Issued tokens carry
+ * the id of the key that signed them in the {@code kid} header, so verification picks the right key even
+ * after the active key has been rotated. Successfully verified tokens are kept in a small bounded cache,
+ * so repeated requests with the same token skip the signature check.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Service
+public class TokenServiceImpl implements TokenService {
+
+    private final Map<String, Key> keys = new HashMap<>();
+
+    private final String activeKeyId;
+
+    private final Key activeKey;
+
+    private final long expirationMillis;
+
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    private final SigningKeyResolver keyResolver = new SigningKeyResolverAdapter() {
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String keyId = header.getKeyId() == null ? activeKeyId : header.getKeyId();
+            Key key = keys.get(keyId);
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown key id " + keyId);
+            }
+            return key;
+        }
+    };
+
+    /**
+     * Derives the signing keys from the given configuration.
+     *
+     * @param properties the JWT configuration.
+     * @throws IllegalStateException if the active key id has no configured secret.
+     */
+    public TokenServiceImpl(JwtProperties properties) {
+        properties.getKeys().forEach((keyId, secret) -> keys.put(keyId,
+                new SecretKeySpec(TextCodec.BASE64.decode(secret), SignatureAlgorithm.HS512.getJcaName())));
+        this.activeKeyId = properties.getActiveKeyId();
+        this.activeKey = keys.get(activeKeyId);
+        if (activeKey == null) {
+            throw new IllegalStateException("No signing key configured for custom.jwt.active-key-id=" + activeKeyId);
+        }
+        this.expirationMillis = properties.getExpiration().toMillis();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getVerificationCacheSize())
+                .expireAfterWrite(properties.getVerificationCacheTtl())
+                .build();
+    }
+
+    /**
+     * Generates a JWT token for the given subject, signed with the active key.
+     *
+     * @param subject the subject of the token, usually the user's email.
+     * @return the generated JWT token as a {@link String}.
+     */
+    @Override
+    public String generateToken(String subject) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, activeKeyId)
+                .setSubject(subject)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMillis))
+                .signWith(SignatureAlgorithm.HS512, activeKey)
+                .compact();
+    }
+
+    /**
+     * Verifies a JWT token, using the cache of recently verified tokens when possible.
+     *
+     * @param token the token to verify.
+     * @return the subject of the token.
+     * @throws IllegalArgumentException if the token is malformed, expired or not signed by a known key.
+     */
+    @Override
+    public String verifyToken(String token) {
+        VerifiedToken verified = verifiedTokens.getIfPresent(token);
+        if (verified != null && verified.expiration() > System.currentTimeMillis()) {
+            return verified.subject();
+        }
+        try {
+            Claims claims = Jwts.parser()
+                    .setSigningKeyResolver(keyResolver)
+                    .parseClaimsJws(token)
+                    .getBody();
+            long expiration = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+            verifiedTokens.put(token, new VerifiedToken(claims.getSubject(), expiration));
+            return claims.getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            verifiedTokens.invalidate(token);
+            throw new IllegalArgumentException("Token inválido");
+        }
+    }
+
+    /**
+     * A token whose signature has already been checked.
+     *
+     * @param subject the subject of the token.
+     * @param expiration the expiration of the token, in epoch milliseconds.
+     */
+    private record VerifiedToken(String subject, long expiration) {
+    }
+}
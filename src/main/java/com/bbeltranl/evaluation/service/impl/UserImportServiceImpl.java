@@ -0,0 +1,413 @@
+package com.bbeltranl.evaluation.service.impl;
+
+import com.bbeltranl.evaluation.dto.BatchItemResult;
+import com.bbeltranl.evaluation.dto.ImportJob;
+import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.model.Phone;
+import com.bbeltranl.evaluation.service.UserImportService;
+import com.bbeltranl.evaluation.service.UserService;
+import com.bbeltranl.evaluation.util.CsvRecords;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of {@link UserImportService} that streams import files through a bounded pipeline.
+ * <p>
+ * A reader thread reads the file line by line in chunks of {@code custom.import.chunk-size} records and
+ * parses and validates each chunk in parallel on {@code custom.import.parallelism} threads, with the same
+ * rules applied to {@link UserRequest} by the API. At most {@code custom.import.in-flight-chunks} validated
+ * chunks wait for the writer, which registers the valid records of each chunk through
+ * {@link UserService#registerUsers(List)} and appends the rejected ones to {@code <file>.rejected.ndjson},
+ * so memory use is bounded whatever the size of the file.
+ * </p>
+ * <p>
+ * After each chunk the number of the next record is written to {@code <file>.checkpoint}, which is removed
+ * when the import completes. An import started without an offset resumes from that checkpoint. Records of
+ * the chunk in progress when an import stopped are imported again on resume and rejected as duplicates.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Service
+@Profile("!reactive")
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    private static final String REJECTED_SUFFIX = ".rejected.ndjson";
+
+    /**
+     * Longest wait before retrying a chunk rejected because password hashing was saturated.
+     */
+    private static final long MAX_RETRY_DELAY_MILLIS = 2000;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${custom.import.directory:${java.io.tmpdir}/user-imports}")
+    private Path directory;
+
+    @Value("${custom.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${custom.import.parallelism:0}")
+    private int parallelism;
+
+    @Value("${custom.import.in-flight-chunks:2}")
+    private int inFlightChunks;
+
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final Set<Path> running = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService jobExecutor;
+
+    private ForkJoinPool parsePool;
+
+    /**
+     * Creates the import directory and the thread pools of the imports.
+     *
+     * @throws IOException if the import directory cannot be created.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Files.createDirectories(directory.toAbsolutePath().normalize());
+        AtomicInteger threadNumber = new AtomicInteger();
+        jobExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "user-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        parsePool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Stops the running imports; they can be resumed from their checkpoints.
+     */
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        parsePool.shutdownNow();
+    }
+
+    @Override
+    public String store(String fileName, InputStream content) throws IOException {
+        String name = Path.of(fileName == null || fileName.isBlank() ? "upload" : fileName).getFileName().toString();
+        String stored = UUID.randomUUID() + "-" + name.replaceAll("[^A-Za-z0-9._-]", "_");
+        Files.copy(content, directory.resolve(stored));
+        return stored;
+    }
+
+    @Override
+    public ImportJob startImport(String source, ImportJob.Format format, Long offset) {
+        Path file = directory.resolve(source).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Archivo de importación no encontrado");
+        }
+        if (offset != null && offset < 0) {
+            throw new IllegalArgumentException("El offset no puede ser negativo");
+        }
+        if (!running.add(file)) {
+            throw new IllegalStateException("El archivo ya se está importando");
+        }
+        try {
+            long startOffset = offset != null ? offset : readCheckpoint(file);
+
+            ImportJob job = new ImportJob();
+            job.setId(UUID.randomUUID());
+            job.setSource(directory.relativize(file).toString());
+            job.setFormat(format != null ? format
+                    : file.toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? ImportJob.Format.CSV
+                    : ImportJob.Format.NDJSON);
+            job.setStatus(ImportJob.Status.RUNNING);
+            job.setStartOffset(startOffset);
+            job.setCheckpoint(startOffset);
+            job.setRejectedFile(job.getSource() + REJECTED_SUFFIX);
+            job.setStarted(new Date());
+            jobs.put(job.getId(), job);
+
+            jobExecutor.execute(() -> run(job, file));
+            return job;
+        } catch (RuntimeException e) {
+            running.remove(file);
+            throw e;
+        }
+    }
+
+    @Override
+    public ImportJob getJob(UUID id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new IllegalArgumentException("Importación no encontrada");
+        }
+        return job;
+    }
+
+    /**
+     * Runs an import, writing the chunks produced by its reader until the end of the file.
+     *
+     * @param job the import.
+     * @param file the file to import.
+     */
+    private void run(ImportJob job, Path file) {
+        BlockingQueue<List<ImportRecord>> chunks = new ArrayBlockingQueue<>(Math.max(1, inFlightChunks));
+        Future<?> reader = jobExecutor.submit(() -> {
+            read(job, file, chunks);
+            return null;
+        });
+        StandardOpenOption mode = job.getStartOffset() > 0
+                ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        try (BufferedWriter rejectedWriter = Files.newBufferedWriter(directory.resolve(job.getRejectedFile()),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            for (List<ImportRecord> chunk = chunks.take(); !chunk.isEmpty(); chunk = chunks.take()) {
+                write(job, file, chunk, rejectedWriter);
+            }
+            reader.get();
+            Files.deleteIfExists(checkpointOf(file));
+            job.setStatus(ImportJob.Status.COMPLETED);
+        } catch (Exception e) {
+            reader.cancel(true);
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            job.setError(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+            job.setStatus(ImportJob.Status.FAILED);
+        } finally {
+            job.setFinished(new Date());
+            running.remove(file);
+        }
+    }
+
+    /**
+     * Reads the records of a file from the offset of the import, handing them to the writer in parsed chunks.
+     * <p>
+     * An empty chunk marks the end of the file, and is also handed over when reading fails so that the
+     * writer finishes the chunks read until then. It is not handed over when the reader is interrupted, which
+     * only happens once the writer has failed and stopped taking chunks.
+     * </p>
+     */
+    private void read(ImportJob job, Path file, BlockingQueue<List<ImportRecord>> chunks)
+            throws IOException, InterruptedException, ExecutionException {
+        boolean interrupted = false;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> header = null;
+            if (job.getFormat() == ImportJob.Format.CSV) {
+                String line = in.readLine();
+                header = line == null ? List.of() : CsvRecords.split(line.strip()).stream()
+                        .map(column -> column.strip().toLowerCase(Locale.ROOT)).toList();
+            }
+            long index = 0;
+            List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (line.isBlank() || index++ < job.getStartOffset()) {
+                    continue;
+                }
+                chunk.add(new ImportRecord(index - 1, line));
+                if (chunk.size() == chunkSize) {
+                    chunks.put(parse(chunk, header));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunks.put(parse(chunk, header));
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+            throw e;
+        } finally {
+            if (!interrupted) {
+                chunks.put(List.of());
+            }
+        }
+    }
+
+    /**
+     * Parses and validates the records of a chunk in parallel.
+     */
+    private List<ImportRecord> parse(List<ImportRecord> chunk, List<String> header)
+            throws InterruptedException, ExecutionException {
+        parsePool.submit(() -> chunk.parallelStream().forEach(record -> parse(record, header))).get();
+        return chunk;
+    }
+
+    private void parse(ImportRecord record, List<String> header) {
+        try {
+            record.request = header == null
+                    ? objectMapper.readValue(record.line, UserRequest.class)
+                    : fromCsv(header, CsvRecords.split(record.line.strip()));
+        } catch (IOException | IllegalArgumentException e) {
+            record.result = rejection(record, null, "Registro con formato inválido");
+            return;
+        }
+        Set<ConstraintViolation<UserRequest>> violations = validator.validate(record.request);
+        if (!violations.isEmpty()) {
+            Map<String, String> errors = new LinkedHashMap<>();
+            violations.forEach(violation ->
+                    errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage()));
+            record.result = rejection(record, record.request.getEmail(), "Datos de usuario inválidos");
+            record.result.setErrors(errors);
+        }
+        record.line = null;
+    }
+
+    private static UserRequest fromCsv(List<String> header, List<String> fields) {
+        if (fields.size() != header.size()) {
+            throw new IllegalArgumentException("Registro con formato inválido");
+        }
+        UserRequest request = new UserRequest();
+        List<Phone> phones = new ArrayList<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = fields.get(i).strip();
+            switch (header.get(i)) {
+                case "name" -> request.setName(value);
+                case "email" -> request.setEmail(value);
+                case "password" -> request.setPassword(value);
+                case "phones" -> {
+                    for (String phone : value.split(";")) {
+                        if (!phone.isBlank()) {
+                            String[] parts = phone.strip().split(":", -1);
+                            if (parts.length != 3) {
+                                throw new IllegalArgumentException("Registro con formato inválido");
+                            }
+                            Phone entry = new Phone();
+                            entry.setNumber(parts[0]);
+                            entry.setCityCode(parts[1]);
+                            entry.setCountryCode(parts[2]);
+                            phones.add(entry);
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        request.setPhones(phones);
+        return request;
+    }
+
+    /**
+     * Registers the valid records of a chunk, writes the rejected ones and records the checkpoint.
+     */
+    private void write(ImportJob job, Path file, List<ImportRecord> chunk, BufferedWriter rejectedWriter)
+            throws IOException, InterruptedException {
+        List<ImportRecord> valid = chunk.stream().filter(record -> record.result == null).toList();
+        if (!valid.isEmpty()) {
+            List<BatchItemResult> results = register(valid.stream().map(record -> record.request).toList());
+            for (int i = 0; i < valid.size(); i++) {
+                valid.get(i).result = results.get(i);
+                valid.get(i).result.setIndex(Math.toIntExact(valid.get(i).index));
+            }
+        }
+
+        long imported = 0;
+        for (ImportRecord record : chunk) {
+            if (record.result.getStatus() == 201) {
+                imported++;
+            } else {
+                rejectedWriter.write(objectMapper.writeValueAsString(record.result));
+                rejectedWriter.newLine();
+            }
+        }
+        rejectedWriter.flush();
+
+        long checkpoint = chunk.get(chunk.size() - 1).index + 1;
+        writeCheckpoint(file, checkpoint);
+        job.setImported(job.getImported() + imported);
+        job.setRejected(job.getRejected() + chunk.size() - imported);
+        job.setProcessed(job.getProcessed() + chunk.size());
+        job.setCheckpoint(checkpoint);
+    }
+
+    /**
+     * Registers a chunk of users, waiting and retrying while password hashing is saturated. Passwords are
+     * hashed before anything is inserted, so a rejected chunk of up to {@code custom.batch.chunk-size} users
+     * has written nothing and can be retried as a whole.
+     */
+    private List<BatchItemResult> register(List<UserRequest> requests) throws InterruptedException {
+        for (long delay = 100; ; delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS)) {
+            try {
+                return userService.registerUsers(requests);
+            } catch (RejectedExecutionException e) {
+                Thread.sleep(delay);
+            }
+        }
+    }
+
+    private long readCheckpoint(Path file) {
+        Path checkpoint = checkpointOf(file);
+        try {
+            return Files.exists(checkpoint) ? Long.parseLong(Files.readString(checkpoint).strip()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalArgumentException("Checkpoint de importación inválido");
+        }
+    }
+
+    /**
+     * Writes a checkpoint atomically, so that a crash leaves either the previous or the new one.
+     */
+    private void writeCheckpoint(Path file, long checkpoint) throws IOException {
+        Path target = checkpointOf(file);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.writeString(temporary, Long.toString(checkpoint));
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path checkpointOf(Path file) {
+        return file.resolveSibling(file.getFileName() + CHECKPOINT_SUFFIX);
+    }
+
+    private static BatchItemResult rejection(ImportRecord record, String email, String mensaje) {
+        BatchItemResult result = new BatchItemResult();
+        result.setIndex(Math.toIntExact(record.index));
+        result.setStatus(400);
+        result.setEmail(email);
+        result.setMensaje(mensaje);
+        return result;
+    }
+
+    /**
+     * A record of an import file on its way through the pipeline. The raw line is dropped once parsed, and
+     * never written to the rejected file, so that passwords are not copied around.
+     */
+    private static final class ImportRecord {
+
+        private final long index;
+
+        private String line;
+
+        private UserRequest request;
+
+        private BatchItemResult result;
+
+        private ImportRecord(long index, String line) {
+            this.index = index;
+            this.line = line;
+        }
+    }
+}
@@ -1,21 +1,61 @@
 package com.bbeltranl.evaluation.service.impl;
 
+import com.bbeltranl.evaluation.cache.UserCache;
+import com.bbeltranl.evaluation.dto.BatchItemResult;
+import com.bbeltranl.evaluation.dto.CursorPage;
+import com.bbeltranl.evaluation.dto.PhoneView;
+import com.bbeltranl.evaluation.dto.UserChangeEvent;
+import com.bbeltranl.evaluation.dto.UserResponse;
+import com.bbeltranl.evaluation.dto.UserSearchCriteria;
+import com.bbeltranl.evaluation.dto.UserVersion;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.exception.EmailConflictException;
+import com.bbeltranl.evaluation.exception.PreconditionFailedException;
+import com.bbeltranl.evaluation.feed.UserChangeFeed;
+import com.bbeltranl.evaluation.model.Phone;
 import com.bbeltranl.evaluation.model.User;
+import com.bbeltranl.evaluation.service.TokenService;
 import com.bbeltranl.evaluation.service.UserService;
 import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.repository.LastLoginBuffer;
 import com.bbeltranl.evaluation.repository.UserRepository;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import com.bbeltranl.evaluation.repository.UserStatistics;
+import com.bbeltranl.evaluation.security.PasswordHasher;
+import com.bbeltranl.evaluation.util.AfterTransaction;
+import com.bbeltranl.evaluation.util.CursorCodec;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementation of {@link UserService} that provides methods for user registration and listing.
  * <p>
  * This service class interacts with the {@link UserRepository} to perform CRUD operations on {@link User} entities.
- * It also generates JWT tokens for user authentication.
+ * It also issues authentication tokens for new users through the {@link TokenService}, and stores passwords
+ * as hashes computed by the {@link PasswordHasher}, outside of any database transaction. Every committed
+ * registration, update and deletion is published to the {@link UserChangeFeed} and counted in the
+ * {@link UserStatistics}.
+ * </p>
+ * <p>
+ * Every public method is timed under the {@code user.service} metric, tagged with the method name and the
+ * exception thrown, if any. It is not available with the {@code reactive} profile, which runs without JPA, nor
+ * with the {@code memory} profile, served by {@link MemoryUserServiceImpl}.
  * </p>
  *
  * @author bbeltranl
@@ -23,47 +63,215 @@ import java.util.*;
  * @since 2024-06-13
  */
 @Service
+@Profile("!reactive & !memory")
+@Timed(value = UserServiceImpl.METRIC, histogram = true)
 public class UserServiceImpl implements UserService {
 
+    /**
+     * Name of the timer of the service operations.
+     */
+    public static final String METRIC = "user.service";
+
     @Autowired
     private UserRepository userRepository;
 
-    private final String jwtSecret = "secret";
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Autowired
+    private UserChangeFeed userChangeFeed;
+
+    @Autowired
+    private UserStatistics userStatistics;
+
+    @Value("${custom.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${custom.pagination.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${custom.batch.max-items:5000}")
+    private int batchMaxItems;
+
+    @Value("${custom.batch.chunk-size:500}")
+    private int batchChunkSize;
 
     /**
      * Registers a new user based on the information provided in {@code userRequest}.
      * <p>
-     * It checks if the user with the provided email already exists in the database.
-     * If the user does not exist, a new {@link User} entity is created, saved in the database,
-     * and returned. If the user already exists, an {@link IllegalArgumentException} is thrown.
+     * The new {@link User} entity is inserted directly; uniqueness of the email is enforced by the
+     * {@value User#EMAIL_INDEX} index, so no lookup is needed beforehand. If the insert violates that
+     * index, an {@link IllegalArgumentException} is thrown.
      * </p>
      *
      * @param userRequest the request object containing user information to be registered.
      * @return the {@link User} entity that has been registered.
      * @throws IllegalArgumentException if a user with the same email already exists.
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated.
      */
     @Override
     public User registerUser(UserRequest userRequest) {
-        Optional<User> userOp = userRepository.findByEmail(userRequest.getEmail());
-        if (userOp.isPresent()) {
-            throw new IllegalArgumentException("El correo ya registrado");
-        } else {
-            User user = new User();
-            user.setId(UUID.randomUUID());
-            user.setName(userRequest.getName());
-            user.setCreated(new Date());
-            user.setModified(new Date());
-            user.setLastLogin(new Date());
-            user.setEmail(userRequest.getEmail());
-            user.setPassword(userRequest.getPassword());
-            user.setToken(generateToken(userRequest.getEmail()));
-            user.setPhones(userRequest.getPhones());
-            user.setActive(true);
+        return registerUser(userRequest, passwordHasher.hash(userRequest.getPassword()));
+    }
 
-            return userRepository.save(user);
+    /**
+     * Registers a new user whose password has already been hashed.
+     *
+     * @param userRequest the request object containing user information to be registered.
+     * @param passwordHash the hash of the requested password.
+     * @return the {@link User} entity that has been registered.
+     * @throws IllegalArgumentException if a user with the same email already exists.
+     */
+    private User registerUser(UserRequest userRequest, String passwordHash) {
+        User user = newUser(userRequest, passwordHash);
+        try {
+            User registered = userRepository.saveAndFlush(user);
+            UserView view = UserView.from(registered);
+            userCache.put(view);
+            userChangeFeed.publishAfterCommit(UserChangeEvent.Type.CREATED, view.getId(), view);
+            AfterTransaction.commit(() -> userStatistics.recordCreated(registered.isActive(), registered.getCreated(),
+                    countryCodes(registered.getPhones())));
+            return registered;
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new IllegalArgumentException("El correo ya registrado");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Registers a list of users in bulk.
+     * <p>
+     * Every request is validated first, and all emails are checked against the database with a single
+     * {@code IN} query. The remaining users are inserted in chunks of {@code custom.batch.chunk-size},
+     * each chunk in its own transaction so that Hibernate groups the inserts into JDBC batches. If a chunk
+     * fails because another request registered one of its emails in the meantime, its users are
+     * registered one by one to report the conflict on the right item.
+     * </p>
+     *
+     * @param userRequests the request objects containing the users to be registered.
+     * @return one {@link BatchItemResult} per request, in the same order.
+     * @throws IllegalArgumentException if the list exceeds {@code custom.batch.max-items}.
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated.
+     */
+    @Override
+    public List<BatchItemResult> registerUsers(List<UserRequest> userRequests) {
+        if (userRequests.size() > batchMaxItems) {
+            throw new IllegalArgumentException("Se permiten como máximo " + batchMaxItems + " usuarios por lote");
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(userRequests.size());
+        for (int i = 0; i < userRequests.size(); i++) {
+            UserRequest request = userRequests.get(i);
+            BatchItemResult result = new BatchItemResult();
+            result.setIndex(i);
+            result.setEmail(normalizeEmail(request.getEmail()));
+
+            Set<ConstraintViolation<UserRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                Map<String, String> errors = new HashMap<>();
+                violations.forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+                result.setStatus(400);
+                result.setErrors(errors);
+            }
+            results.add(result);
+        }
+
+        Set<String> emails = new HashSet<>();
+        results.stream().filter(result -> result.getStatus() == 0).forEach(result -> emails.add(result.getEmail()));
+        Set<String> taken = emails.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findExistingEmails(emails));
+
+        List<BatchItemResult> pending = new ArrayList<>();
+        for (BatchItemResult result : results) {
+            if (result.getStatus() != 0) {
+                continue;
+            }
+            if (!taken.add(result.getEmail())) {
+                result.setStatus(409);
+                result.setMensaje("El correo ya registrado");
+            } else {
+                pending.add(result);
+            }
+        }
+
+        for (int from = 0; from < pending.size(); from += batchChunkSize) {
+            List<BatchItemResult> chunk = pending.subList(from, Math.min(from + batchChunkSize, pending.size()));
+            insertChunk(chunk, userRequests);
+        }
+        return results;
+    }
+
+    /**
+     * Inserts one chunk of a bulk registration in a single transaction, falling back to one insert per
+     * user if the chunk violates the unique email index. The passwords of the chunk are hashed together
+     * before the transaction starts, and the fallback reuses those hashes.
+     *
+     * @param chunk the results of the items to insert; they are completed with the outcome of each insert.
+     * @param userRequests the original requests, indexed by {@link BatchItemResult#getIndex()}.
+     */
+    private void insertChunk(List<BatchItemResult> chunk, List<UserRequest> userRequests) {
+        List<String> hashes = passwordHasher.hashAll(
+                chunk.stream().map(result -> userRequests.get(result.getIndex()).getPassword()).toList());
+        List<User> users = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            users.add(newUser(userRequests.get(chunk.get(i).getIndex()), hashes.get(i)));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                markCreated(chunk.get(i), users.get(i));
+                userChangeFeed.publish(UserChangeEvent.Type.CREATED, users.get(i).getId(), UserView.from(users.get(i)));
+                userStatistics.recordCreated(users.get(i).isActive(), users.get(i).getCreated(),
+                        countryCodes(users.get(i).getPhones()));
+            }
+        } catch (DataIntegrityViolationException e) {
+            for (int i = 0; i < chunk.size(); i++) {
+                BatchItemResult result = chunk.get(i);
+                try {
+                    markCreated(result, registerUser(userRequests.get(result.getIndex()), hashes.get(i)));
+                } catch (IllegalArgumentException conflict) {
+                    result.setStatus(409);
+                    result.setMensaje(conflict.getMessage());
+                }
+            }
         }
     }
 
+    /**
+     * Completes the result of a bulk registration item with the data of the created user.
+     *
+     * @param result the result to complete.
+     * @param user the user that has been inserted.
+     */
+    private static void markCreated(BatchItemResult result, User user) {
+        result.setStatus(201);
+        result.setId(user.getId());
+        result.setToken(user.getToken());
+    }
+
     /**
      * Retrieves a list of all users from the database.
      *
@@ -74,74 +282,561 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of users ordered by identifier.
+     * <p>
+     * The page is read with projection queries: one for the user columns of the {@link UserView} and one
+     * for the phones of the whole page, so no entity is loaded into the persistence context. One extra row
+     * is fetched to know whether a following page exists, so no count query is needed.
+     * </p>
+     *
+     * @param cursor the opaque continuation token of the previous page, or {@code null} for the first page.
+     * @param size the requested page size; {@code null} or non-positive values use the default size.
+     * @return a {@link CursorPage} with the read model of the users of the page.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Override
+    public CursorPage<UserView> listPage(String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        Limit limit = Limit.of(pageSize + 1);
+        List<UserView> users = cursor == null || cursor.isBlank()
+                ? userRepository.findViews(limit)
+                : userRepository.findViewsAfter(CursorCodec.decode(cursor), limit);
+
+        List<UserView> page = users.size() <= pageSize ? users : users.subList(0, pageSize);
+        attachPhones(page);
+        if (users.size() <= pageSize) {
+            return new CursorPage<>(page, null);
+        }
+        return new CursorPage<>(page, CursorCodec.encode(page.get(pageSize - 1).getId()));
+    }
+
+    /**
+     * Searches users with optional filters, ordered by lower-cased name and identifier when searching by name,
+     * and by identifier otherwise.
+     * <p>
+     * The matching users are read with one projection query that only contains the conditions of the filters
+     * that are set, each backed by an index, and the phones of the page with a second one. The cursor of a
+     * search by name carries the lower-cased name of the last user as well as its identifier, so the next page
+     * seeks from it directly. As with {@link #listPage(String, Integer)}, one extra row tells whether a following
+     * page exists.
+     * </p>
+     *
+     * @param criteria the filters of the search.
+     * @param cursor the opaque continuation token of the previous page, or {@code null} for the first page.
+     * @param size the requested page size; {@code null} or non-positive values use the default size.
+     * @return a {@link CursorPage} with the read model of the matching users of the page.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    @Override
+    public CursorPage<UserView> search(UserSearchCriteria criteria, String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        boolean byName = criteria.getName() != null && !criteria.getName().isBlank();
+        String afterName = null;
+        UUID after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            if (byName) {
+                CursorCodec.Position position = CursorCodec.decodeKeyed(cursor);
+                afterName = position.key();
+                after = position.id();
+            } else {
+                after = CursorCodec.decode(cursor);
+            }
+        }
+        List<UserView> users = userRepository.search(criteria, afterName, after, pageSize + 1);
+
+        List<UserView> page = users.size() <= pageSize ? users : users.subList(0, pageSize);
+        attachPhones(page);
+        if (users.size() <= pageSize) {
+            return new CursorPage<>(page, null);
+        }
+        UserView last = page.get(pageSize - 1);
+        return new CursorPage<>(page, byName ? CursorCodec.encode(nameKey(last.getName()), last.getId())
+                : CursorCodec.encode(last.getId()));
+    }
+
+    /**
+     * Loads the phones of several users with one query and adds them to their views.
+     *
+     * @param users the views of the users, without phones.
+     */
+    private void attachPhones(List<UserView> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Map<UUID, UserView> byId = new HashMap<>();
+        users.forEach(user -> byId.put(user.getId(), user));
+        userRepository.findPhoneViews(byId.keySet())
+                .forEach(phone -> byId.get(phone.getUserId()).getPhones().add(phone));
+    }
+
+    /**
+     * Exports every user with its phones, ordered by identifier.
+     * <p>
+     * The users are read with a single projection query through a forward-only cursor, and the rows of
+     * each user, one per phone, are folded into a {@link UserView} that is handed to {@code consumer} as soon
+     * as the next user starts. Only the current user is held in memory and no entity is loaded into the
+     * persistence context, so it does not grow with the number of users and never needs to be cleared. The
+     * read-only transaction keeps the cursor open until the last user has been consumed.
+     * </p>
+     *
+     * @param consumer the consumer that receives the read model of each user.
+     * @return the number of users exported.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(Consumer<UserView> consumer) {
+        long exported = 0;
+        try (Stream<Tuple> rows = userRepository.streamViewRows()) {
+            UserView current = null;
+            for (Iterator<Tuple> iterator = rows.iterator(); iterator.hasNext(); ) {
+                Tuple row = iterator.next();
+                if (current == null || !current.getId().equals(row.get("id", UUID.class))) {
+                    if (current != null) {
+                        consumer.accept(current);
+                        exported++;
+                    }
+                    current = newView(row);
+                }
+                addPhone(current, row);
+            }
+            if (current != null) {
+                consumer.accept(current);
+                exported++;
+            }
+        }
+        return exported;
+    }
+
     /**
      * Retrieves a user based on the provided unique identifier (UUID).
+     * <p>
+     * The user is served from the {@link UserCache} when present, and read with its phones in a single
+     * projection query otherwise. A login waiting in the {@link LastLoginBuffer} overrides the stored
+     * last-login timestamp.
+     * </p>
      *
      * @param id The unique identifier of the user to retrieve.
-     * @return The {@link User} object if found.
+     * @return The {@link UserView} of the user if found.
      */
     @Override
-    public User getUserById(UUID id) {
-        Optional<User> userOpt = userRepository.findById(id);
+    public UserView getUserById(UUID id) {
+        Optional<UserView> userOpt = userCache.getById(id, key -> toView(userRepository.findViewRowsById(key)));
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("Usuario no encontrado");
         } else {
-            return userOpt.get();
+            return withBufferedLogin(userOpt.get());
         }
     }
 
     /**
-     * Deletes a user based on the provided unique identifier (UUID).
+     * Retrieves a user based on the provided email address.
+     * <p>
+     * The user is served from the {@link UserCache} when present. Otherwise its id is resolved first and it is
+     * then read with its phones in a single projection query, as by {@link #getUserById(UUID)}. A login waiting
+     * in the {@link LastLoginBuffer} overrides the stored last-login timestamp.
+     * </p>
      *
-     * @param id The unique identifier of the user to be deleted.
+     * @param email The email address of the user to retrieve; it is matched case-insensitively.
+     * @return The {@link UserView} of the user if found.
      */
     @Override
-    public void deleteUserById(UUID id) {
-        Optional<User> userOpt = userRepository.findById(id);
+    public UserView getUserByEmail(String email) {
+        Optional<UserView> userOpt = userCache.getByEmail(normalizeEmail(email), userRepository::findIdByEmail,
+                key -> toView(userRepository.findViewRowsById(key)));
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("Usuario no encontrado");
         } else {
-            userRepository.deleteById(id);
+            return withBufferedLogin(userOpt.get());
         }
     }
 
+    /**
+     * Retrieves the {@code modified} and last-login timestamps of a user.
+     * <p>
+     * The timestamps are taken from the {@link UserCache} when the user is cached, and read with a two-column
+     * query otherwise, so checking the version of a user never loads it. As in {@link #getUserById(UUID)}, a
+     * login waiting in the {@link LastLoginBuffer} overrides the stored last-login timestamp.
+     * </p>
+     *
+     * @param id The unique identifier of the user.
+     * @return The {@link UserVersion} of the user.
+     * @throws IllegalArgumentException if the user does not exist.
+     */
+    @Override
+    public UserVersion getVersion(UUID id) {
+        Optional<UserVersion> version = userCache.getIfPresent(id)
+                .map(user -> new UserVersion(user.getModified(), user.getLastLogin()));
+        if (version.isEmpty()) {
+            version = userRepository.findVersionById(id);
+        }
+        UserVersion current = version.orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+        lastLoginBuffer.get(id).filter(lastLogin -> isAfter(lastLogin, current.getLastLogin()))
+                .ifPresent(current::setLastLogin);
+        return current;
+    }
+
+    /**
+     * Deletes a user based on the provided unique identifier (UUID).
+     * <p>
+     * The phones and the user row are removed with two bulk {@code DELETE} statements in one transaction,
+     * without loading any entity, so the cost does not depend on the number of phones. They are preceded by a
+     * projection query of what the {@link UserStatistics} count of the user, which also answers for a user that
+     * does not exist. When an expected version is given, the user row is only deleted if its {@code modified}
+     * timestamp still matches it.
+     * </p>
+     *
+     * @param id The unique identifier of the user to be deleted.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null}.
+     * @throws IllegalArgumentException if the user does not exist.
+     * @throws PreconditionFailedException if the user has been modified since {@code expectedModified}.
+     */
+    @Override
+    @Transactional
+    public void deleteUserById(UUID id, Date expectedModified) {
+        List<Tuple> statisticsRows = userRepository.findStatisticsRowsById(id);
+        if (statisticsRows.isEmpty()) {
+            throw new IllegalArgumentException("Usuario no encontrado");
+        }
+        userRepository.deletePhonesOfUser(id);
+        int deleted = expectedModified == null
+                ? userRepository.deleteUser(id)
+                : userRepository.deleteUserIfUnmodified(id, expectedModified);
+        if (deleted == 0) {
+            throw versionConflictOrNotFound(id, expectedModified);
+        }
+        AfterTransaction.completion(() -> userCache.evict(id));
+        userChangeFeed.publishAfterCommit(UserChangeEvent.Type.DELETED, id, null);
+        boolean active = statisticsRows.get(0).get("isActive", Boolean.class);
+        Date created = statisticsRows.get(0).get("created", Date.class);
+        List<String> countryCodes = statisticsRows.stream().map(row -> row.get("countryCode", String.class)).toList();
+        AfterTransaction.commit(() -> userStatistics.recordDeleted(active, created, countryCodes));
+    }
+
     /**
      * Updates a user's information based on the provided unique identifier (UUID) and the request data.
+     * <p>
+     * The user is loaded with its phones and modified in place inside a transaction, so Hibernate dirty
+     * checking only writes what changed: the {@code UPDATE} of the user only contains the changed columns,
+     * and the phones are reconciled with {@link #mergePhones(List, List)} instead of being replaced. A new
+     * password is hashed before the transaction starts, so no connection is held while hashing.
+     * </p>
+     * <p>
+     * When an expected version is given, the {@code modified} timestamp is first advanced with a
+     * compare-and-set {@code UPDATE}, which fails if another request changed the user in the meantime and
+     * otherwise locks the row until the transaction ends.
+     * </p>
      *
      * @param id The unique identifier of the user to be updated.
      * @param userRequest The request object containing the fields to update in the user.
-     * @return The updated {@link User} object after the changes have been saved.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null}.
+     * @return The {@link UserView} of the user after the changes have been saved.
+     * @throws IllegalArgumentException if the user does not exist.
+     * @throws EmailConflictException if the new email is already registered.
+     * @throws PreconditionFailedException if the user has been modified since {@code expectedModified}.
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated.
      */
     @Override
-    public User updateUser(UUID id, UserRequest userRequest) {
-        Optional<User> userOpt = userRepository.findById(id);
+    public UserView updateUser(UUID id, UserRequest userRequest, Date expectedModified) {
+        String passwordHash = passwordHasher.hash(userRequest.getPassword());
+        Date modified = new Date();
+        try {
+            return transactionTemplate.execute(status -> updateUser(id, userRequest, expectedModified, passwordHash,
+                    modified));
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new EmailConflictException();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Applies an update to a user inside the current transaction.
+     *
+     * @param id The unique identifier of the user to be updated.
+     * @param userRequest The request object containing the fields to update in the user.
+     * @param expectedModified The {@code modified} timestamp the user must still have, or {@code null}.
+     * @param passwordHash The hash of the new password, or {@code null} to keep the current one.
+     * @param modified The new {@code modified} timestamp of the user.
+     * @return The {@link UserView} of the user after the changes have been applied.
+     * @throws DataIntegrityViolationException if the new email is already registered.
+     */
+    private UserView updateUser(UUID id, UserRequest userRequest, Date expectedModified, String passwordHash,
+                                Date modified) {
+        if (expectedModified != null && userRepository.touchIfUnmodified(id, expectedModified, modified) == 0) {
+            throw versionConflictOrNotFound(id, expectedModified);
+        }
+        Optional<User> userOpt = userRepository.findWithPhonesById(id);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("Usuario no encontrado");
         } else {
             User user = userOpt.get();
-            user.setId(id);
             if(userRequest.getName()!=null) user.setName(userRequest.getName());
-            user.setModified(new Date());
-            user.setLastLogin(new Date());
-            if(userRequest.getEmail()!=null) user.setEmail(userRequest.getEmail());
-            if(userRequest.getPassword()!=null) user.setPassword(userRequest.getPassword());
-            if(userRequest.getPhones()!=null) user.setPhones(userRequest.getPhones());
-            return userRepository.save(user);
+            user.setModified(modified);
+            if(userRequest.getEmail()!=null) user.setEmail(normalizeEmail(userRequest.getEmail()));
+            if(passwordHash!=null) user.setPassword(passwordHash);
+            if(userRequest.getPhones()!=null) {
+                List<String> countryCodesBefore = countryCodes(user.getPhones());
+                mergePhones(user.getPhones(), userRequest.getPhones());
+                List<String> countryCodesAfter = countryCodes(user.getPhones());
+                AfterTransaction.commit(() ->
+                        userStatistics.recordCountryCodesChanged(countryCodesBefore, countryCodesAfter));
+            }
+            if(userRequest.getEmail()!=null) {
+                // surfaces a violation of the unique email index here rather than at commit
+                userRepository.flush();
+            }
+            AfterTransaction.completion(() -> userCache.evict(id));
+            UserView view = UserView.from(user);
+            userChangeFeed.publishAfterCommit(UserChangeEvent.Type.UPDATED, id, view);
+            return view;
+        }
+    }
+
+    /**
+     * Logs a user in with their email address and password.
+     * <p>
+     * Only the credentials of the user are read, with a single projection query, and the password is checked
+     * on the {@link PasswordHasher} pool. The login is then recorded in the {@link LastLoginBuffer}, which writes
+     * it later in a batch with the other logins, so a login performs no {@code UPDATE} and leaves the
+     * {@code modified} timestamp, and so the version of the user, unchanged.
+     * </p>
+     *
+     * @param email The email address of the user; it is matched case-insensitively.
+     * @param password The password of the user.
+     * @return The {@link UserResponse} of the user, with the new last-login timestamp and a new token.
+     * @throws IllegalArgumentException if the user does not exist, is inactive or the password does not match.
+     * @throws java.util.concurrent.RejectedExecutionException if the password hashing pool is saturated.
+     */
+    @Override
+    public UserResponse login(String email, String password) {
+        String normalizedEmail = normalizeEmail(email);
+        Optional<Tuple> credentials = userRepository.findCredentialsByEmail(normalizedEmail);
+        if (credentials.isEmpty() || !credentials.get().get("isActive", Boolean.class)
+                || !passwordHasher.matches(password, credentials.get().get("password", String.class))) {
+            throw new IllegalArgumentException("Usuario o contraseña inválidos");
         }
+        Tuple user = credentials.get();
+        UserResponse response = new UserResponse();
+        response.setId(user.get("id", UUID.class));
+        response.setCreated(user.get("created", Date.class));
+        response.setModified(user.get("modified", Date.class));
+        response.setLastLogin(new Date());
+        response.setToken(tokenService.generateToken(normalizedEmail));
+        response.setIsActive(true);
+        lastLoginBuffer.record(response.getId(), response.getLastLogin());
+        return response;
     }
 
     /**
-     * Generates a JWT token based on the provided email.
+     * Builds the exception of a conditional write that matched no row.
      *
-     * @param email the email for which the token is generated.
-     * @return the generated JWT token as a {@link String}.
+     * @param id the identifier of the user.
+     * @param expectedModified the version the write expected, or {@code null} if it was unconditional.
+     * @return a {@link PreconditionFailedException} if the user still exists with another version, or an
+     *         {@link IllegalArgumentException} if it does not exist.
      */
-    private String generateToken(String email) {
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 86400000)) // 1 day expiration
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
-                .compact();
+    private RuntimeException versionConflictOrNotFound(UUID id, Date expectedModified) {
+        if (expectedModified != null && userRepository.existsById(id)) {
+            return new PreconditionFailedException();
+        }
+        return new IllegalArgumentException("Usuario no encontrado");
+    }
+
+    /**
+     * Reconciles the phones of a user with the phones of a request.
+     * <p>
+     * A requested phone matches the existing one with the same number; the read model exposes no phone id, so
+     * any id in the request is ignored. Matched phones are updated in place (only their changed columns are
+     * written), unmatched requested phones are added and existing phones that are not requested any more are
+     * removed, so untouched rows are left alone.
+     * </p>
+     *
+     * @param current the managed phones of the user; the list is modified in place.
+     * @param requested the phones that the user must have after the update.
+     */
+    static void mergePhones(List<Phone> current, List<Phone> requested) {
+        Set<Phone> stale = Collections.newSetFromMap(new IdentityHashMap<>());
+        stale.addAll(current);
+        for (Phone phone : requested) {
+            Phone match = null;
+            for (Phone candidate : stale) {
+                if (Objects.equals(phone.getNumber(), candidate.getNumber())) {
+                    match = candidate;
+                    break;
+                }
+            }
+            if (match == null) {
+                match = new Phone();
+                current.add(match);
+            } else {
+                stale.remove(match);
+            }
+            match.setNumber(phone.getNumber());
+            match.setCityCode(phone.getCityCode());
+            match.setCountryCode(phone.getCountryCode());
+        }
+        current.removeIf(stale::contains);
+    }
+
+    /**
+     * Overrides the last-login timestamp of a view with the one waiting in the {@link LastLoginBuffer}, if it is
+     * later. The view may be shared by the {@link UserCache}, so it is copied rather than modified.
+     *
+     * @param user the view of the user.
+     * @return the view with the latest last-login timestamp.
+     */
+    private UserView withBufferedLogin(UserView user) {
+        Optional<Date> buffered = lastLoginBuffer.get(user.getId())
+                .filter(lastLogin -> isAfter(lastLogin, user.getLastLogin()));
+        if (buffered.isEmpty()) {
+            return user;
+        }
+        UserView view = new UserView(user.getId(), user.getName(), user.getEmail(), user.getCreated(),
+                user.getModified(), buffered.get(), user.getIsActive());
+        view.getPhones().addAll(user.getPhones());
+        return view;
+    }
+
+    private static boolean isAfter(Date date, Date other) {
+        return other == null || date.after(other);
+    }
+
+    /**
+     * Lists the country codes of some phones.
+     *
+     * @param phones the phones, or {@code null}.
+     * @return the country code of each phone, possibly {@code null}.
+     */
+    private static List<String> countryCodes(List<Phone> phones) {
+        return phones == null ? List.of() : phones.stream().map(Phone::getCountryCode).toList();
+    }
+
+    /**
+     * Builds a new, not yet persisted, active {@link User} from a registration request.
+     * <p>
+     * The phones are copied, so the phones of the request never become managed: persisting the user assigns
+     * identifiers to the copies only, and a failed insert can be retried with the same request.
+     * </p>
+     *
+     * @param userRequest the request object containing user information to be registered.
+     * @param passwordHash the hash of the requested password.
+     * @return the new {@link User} entity.
+     */
+    private User newUser(UserRequest userRequest, String passwordHash) {
+        String email = normalizeEmail(userRequest.getEmail());
+
+        User user = new User();
+        user.setName(userRequest.getName());
+        user.setCreated(new Date());
+        user.setModified(new Date());
+        user.setLastLogin(new Date());
+        user.setEmail(email);
+        user.setPassword(passwordHash);
+        user.setToken(tokenService.generateToken(email));
+        user.setPhones(copyPhones(userRequest.getPhones()));
+        user.setActive(true);
+        return user;
+    }
+
+    /**
+     * Copies requested phones into new, not yet persisted, {@link Phone} entities.
+     *
+     * @param phones the requested phones, or {@code null}.
+     * @return the copies, without identifiers, or {@code null} if {@code phones} is {@code null}.
+     */
+    private static List<Phone> copyPhones(List<Phone> phones) {
+        if (phones == null) {
+            return null;
+        }
+        List<Phone> copies = new ArrayList<>(phones.size());
+        for (Phone phone : phones) {
+            Phone copy = new Phone();
+            copy.setNumber(phone.getNumber());
+            copy.setCityCode(phone.getCityCode());
+            copy.setCountryCode(phone.getCountryCode());
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    /**
+     * Builds the read model of a user from the rows of {@link UserRepository#findViewRowsById(UUID)}.
+     *
+     * @param rows the rows of the user, one per phone.
+     * @return an {@link Optional} containing the view, or an empty {@link Optional} if there are no rows.
+     */
+    private static Optional<UserView> toView(List<Tuple> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        UserView view = newView(rows.get(0));
+        rows.forEach(row -> addPhone(view, row));
+        return Optional.of(view);
+    }
+
+    /**
+     * Builds the read model of a user, without phones, from a row with the aliases of
+     * {@link UserRepository#VIEW_ROWS}.
+     *
+     * @param row a row of the user.
+     * @return the view of the user.
+     */
+    private static UserView newView(Tuple row) {
+        return new UserView(row.get("id", UUID.class), row.get("name", String.class),
+                row.get("email", String.class), row.get("created", Date.class),
+                row.get("modified", Date.class), row.get("lastLogin", Date.class),
+                row.get("isActive", Boolean.class));
+    }
+
+    /**
+     * Adds the phone of a row with the aliases of {@link UserRepository#VIEW_ROWS} to a view, if the row has one.
+     *
+     * @param view the view of the user of the row.
+     * @param row the row.
+     */
+    private static void addPhone(UserView view, Tuple row) {
+        if (row.get("phoneId") != null) {
+            view.getPhones().add(new PhoneView(view.getId(), row.get("number", String.class),
+                    row.get("cityCode", String.class), row.get("countryCode", String.class)));
+        }
+    }
+
+    /**
+     * Normalizes an email address to the form stored in the database (trimmed and lower-cased).
+     *
+     * @param email the email address as received.
+     * @return the normalized email address, or {@code null} if {@code email} is {@code null}.
+     */
+    static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Computes the key searches by name are ordered by: the lower-cased name, as in the {@code name_key} column.
+     *
+     * @param name the name of a user.
+     * @return the lower-cased name, or an empty string if {@code name} is {@code null}.
+     */
+    static String nameKey(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Checks whether a data integrity violation was caused by the unique email index.
+     *
+     * @param e the exception raised by the insert.
+     * @return {@code true} if the violated constraint is {@value User#EMAIL_INDEX}.
+     */
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraintName = violation.getConstraintName();
+                return constraintName != null
+                        && constraintName.toLowerCase(Locale.ROOT).contains(User.EMAIL_INDEX);
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,58 @@
+package com.bbeltranl.evaluation.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class to defer side effects, such as cache evictions, change events and counters, until the current
+ * transaction ends.
+ * <p>
+ * Without an active transaction synchronization there is nothing to wait for, so the action is considered
+ * committed and runs right away.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class AfterTransaction {
+
+    private AfterTransaction() {
+    }
+
+    /**
+     * Runs an action once the current transaction commits, and not at all if it rolls back.
+     *
+     * @param action the action to run.
+     */
+    public static void commit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs an action once the current transaction completes, whether it commits or rolls back.
+     *
+     * @param action the action to run.
+     */
+    public static void completion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.bbeltranl.evaluation.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class to split the lines of a CSV file into fields.
+ * <p>
+ * Fields are separated by commas and may be enclosed in double quotes, in which case they may contain commas
+ * and escaped double quotes ({@code ""}). Records spanning several lines are not supported.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class CsvRecords {
+
+    private CsvRecords() {
+    }
+
+    /**
+     * Splits one line of a CSV file into its fields.
+     *
+     * @param line the line, without its line terminator.
+     * @return the fields of the line, unquoted.
+     * @throws IllegalArgumentException if a quoted field is not closed.
+     */
+    public static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Registro con formato inválido");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bbeltranl.evaluation.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Utility class to encode and decode the opaque continuation tokens used by keyset pagination.
+ * <p>
+ * The token is the URL-safe Base64 representation of the last {@link UUID} returned in a page,
+ * so clients can pass it back untouched in a query parameter. Pages ordered by another key first, such as the
+ * lower-cased name, also carry the value of that key after the identifier, so the next page can seek from it
+ * without reading the last user again, even if that user has since changed or been deleted.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class CursorCodec {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorCodec() {
+    }
+
+    /**
+     * The position a keyed cursor points to: the sort key and the identifier of the last item of a page.
+     *
+     * @param key the value of the sort key of the item.
+     * @param id the identifier of the item.
+     */
+    public record Position(String key, UUID id) {
+    }
+
+    /**
+     * Encodes the given identifier as an opaque cursor.
+     *
+     * @param id the identifier of the last item of a page.
+     * @return the encoded cursor.
+     */
+    public static String encode(UUID id) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode(UUID)}.
+     *
+     * @param cursor the opaque cursor sent by the client.
+     * @return the identifier the cursor points to.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static UUID decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Encodes the given sort key and identifier as an opaque cursor.
+     *
+     * @param key the value of the sort key of the last item of a page.
+     * @param id the identifier of the last item of a page.
+     * @return the encoded cursor.
+     */
+    public static String encode(String key, UUID id) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(16 + keyBytes.length);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        buffer.put(keyBytes);
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode(String, UUID)}.
+     *
+     * @param cursor the opaque cursor sent by the client.
+     * @return the position the cursor points to.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public static Position decodeKeyed(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (bytes.length < 16) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        return new Position(new String(bytes, 16, bytes.length - 16, StandardCharsets.UTF_8), id);
+    }
+}
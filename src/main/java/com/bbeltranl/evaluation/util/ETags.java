@@ -0,0 +1,50 @@
+package com.bbeltranl.evaluation.util;
+
+import com.bbeltranl.evaluation.dto.UserVersion;
+import com.bbeltranl.evaluation.dto.UserView;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Utility class to build the entity tags of users.
+ * <p>
+ * The tag is strong and combines the identifier of the user with the epoch milliseconds of its
+ * {@code modified} and last-login timestamps. Updates change the former and logins the latter, so comparing
+ * tags only needs the {@link UserVersion} of the user and never the serialized user.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Builds the entity tag of a version of a user.
+     *
+     * @param id the identifier of the user.
+     * @param version the version of the user.
+     * @return the quoted entity tag.
+     */
+    public static String of(UUID id, UserVersion version) {
+        return of(id, version.getModified(), version.getLastLogin());
+    }
+
+    /**
+     * Builds the entity tag of the representation of a user.
+     *
+     * @param user the view of the user.
+     * @return the quoted entity tag.
+     */
+    public static String of(UserView user) {
+        return of(user.getId(), user.getModified(), user.getLastLogin());
+    }
+
+    private static String of(UUID id, Date modified, Date lastLogin) {
+        return "\"" + id + "-" + modified.getTime() + "-" + (lastLogin == null ? 0 : lastLogin.getTime()) + "\"";
+    }
+}
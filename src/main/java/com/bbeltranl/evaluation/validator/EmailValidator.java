@@ -0,0 +1,78 @@
+package com.bbeltranl.evaluation.validator;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validator implementation for the {@link ValidEmail} annotation.
+ * <p>
+ * The address is checked in a single pass: a non-empty local part of {@code [a-zA-Z0-9._%+-]},
+ * exactly one {@code @}, and a domain of {@code [a-zA-Z0-9.-]} whose part after the last dot is
+ * 2 to 6 letters long and whose part before it is not empty.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class EmailValidator implements ConstraintValidator<ValidEmail, String> {
+
+    /**
+     * Validates whether the given value is a well-formed email address.
+     *
+     * @param value The value to be validated; {@code null} values are considered valid.
+     * @param context The context in which the constraint is evaluated.
+     * @return {@code true} if the value is a valid email address; {@code false} otherwise.
+     */
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || isValidEmail(value);
+    }
+
+    /**
+     * Checks whether the given value is a well-formed email address.
+     *
+     * @param value the value to check.
+     * @return {@code true} if the value is a valid email address; {@code false} otherwise.
+     */
+    public static boolean isValidEmail(CharSequence value) {
+        int length = value.length();
+        int at = -1;
+        int lastDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '@') {
+                if (at >= 0 || i == 0) {
+                    return false;
+                }
+                at = i;
+            } else if (at < 0) {
+                if (!isAsciiLetterOrDigit(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                    return false;
+                }
+            } else if (c == '.') {
+                lastDot = i;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        if (at < 0 || lastDot <= at + 1) {
+            return false;
+        }
+        int tld = length - lastDot - 1;
+        if (tld < 2 || tld > 6) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            char c = value.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,345 @@
+package com.bbeltranl.evaluation.validator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Password policy compiled once from the {@code custom.patterns.password} regular expression.
+ * <p>
+ * When the configured expression has the usual shape of a password policy (a list of
+ * {@code (?=.*[...])} lookaheads, an optional {@code (?=\S+$)} and a single quantified
+ * {@code .}, {@code \S} or {@code [...]} body) it is translated into character-class bitmasks and
+ * checked in a single pass over the password, without allocating. Any other expression is still
+ * honored: it is precompiled into a {@link Pattern} and evaluated with a reusable matcher.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class PasswordPolicy {
+
+    private final Pattern pattern;
+
+    private final CharClass body;
+
+    private final CharClass[] required;
+
+    private final boolean noWhitespace;
+
+    private final int minLength;
+
+    private final int maxLength;
+
+    /**
+     * Compiles the given password policy.
+     *
+     * @param regex the regular expression passwords must fully match.
+     */
+    public PasswordPolicy(@Value("${custom.patterns.password}") String regex) {
+        this.pattern = Pattern.compile(regex);
+        Parser parser = new Parser(regex);
+        if (parser.parse()) {
+            this.body = parser.body;
+            this.required = parser.required.toArray(new CharClass[0]);
+            this.noWhitespace = parser.noWhitespace;
+            this.minLength = parser.minLength;
+            this.maxLength = parser.maxLength;
+        } else {
+            this.body = null;
+            this.required = null;
+            this.noWhitespace = false;
+            this.minLength = 0;
+            this.maxLength = Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Indicates whether the policy could be translated into the single-pass checker.
+     *
+     * @return {@code true} if passwords are checked without the regular expression engine.
+     */
+    public boolean isCompiled() {
+        return body != null;
+    }
+
+    /**
+     * Checks whether the given password fully matches the configured policy.
+     *
+     * @param value the password to check.
+     * @return {@code true} if the password complies with the policy; {@code false} otherwise.
+     */
+    public boolean matches(CharSequence value) {
+        if (body == null) {
+            return pattern.matcher(value).matches();
+        }
+        int length = value.length();
+        int codePoints = 0;
+        int missing = (1 << required.length) - 1;
+        boolean firstLine = true;
+        for (int i = 0; i < length; ) {
+            int c = Character.codePointAt(value, i);
+            i += Character.charCount(c);
+            codePoints++;
+            if (!body.contains(c) || (noWhitespace && isWhitespace(c))) {
+                return false;
+            }
+            if (isLineTerminator(c)) {
+                // the ".*" of the lookaheads does not cross line terminators
+                firstLine = false;
+            } else if (firstLine && missing != 0) {
+                for (int r = 0; r < required.length; r++) {
+                    if (required[r].contains(c)) {
+                        missing &= ~(1 << r);
+                    }
+                }
+            }
+        }
+        return missing == 0 && codePoints >= minLength && codePoints <= maxLength && (!noWhitespace || length > 0);
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static boolean isLineTerminator(int c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Set of characters accepted at one position of the policy.
+     */
+    private static final class CharClass {
+
+        private final boolean any;
+
+        private final boolean notWhitespace;
+
+        private final long low;
+
+        private final long high;
+
+        private CharClass(boolean any, boolean notWhitespace, long low, long high) {
+            this.any = any;
+            this.notWhitespace = notWhitespace;
+            this.low = low;
+            this.high = high;
+        }
+
+        boolean contains(int c) {
+            if (any) {
+                return !isLineTerminator(c);
+            }
+            if (notWhitespace) {
+                return !isWhitespace(c);
+            }
+            if (c < 64) {
+                return (low & (1L << c)) != 0;
+            }
+            return c < 128 && (high & (1L << (c - 64))) != 0;
+        }
+
+        boolean containsLineTerminator() {
+            return contains('\n') || contains('\r');
+        }
+    }
+
+    /**
+     * Recognizes the supported subset of regular expressions.
+     */
+    private static final class Parser {
+
+        private final String regex;
+
+        private int pos;
+
+        private CharClass body;
+
+        private final List<CharClass> required = new ArrayList<>();
+
+        private boolean noWhitespace;
+
+        private int minLength;
+
+        private int maxLength = Integer.MAX_VALUE;
+
+        private Parser(String regex) {
+            this.regex = regex;
+        }
+
+        boolean parse() {
+            accept("^");
+            while (true) {
+                if (accept("(?=.*[")) {
+                    CharClass charClass = parseClass();
+                    if (charClass == null || !accept(")")) {
+                        return false;
+                    }
+                    required.add(charClass);
+                } else if (accept("(?=.*\\d)")) {
+                    required.add(range('0', '9'));
+                } else if (accept("(?=\\S+$)")) {
+                    noWhitespace = true;
+                } else {
+                    break;
+                }
+            }
+            if (required.size() > 30) {
+                return false;
+            }
+
+            if (accept(".")) {
+                body = new CharClass(true, false, 0, 0);
+            } else if (accept("\\S")) {
+                body = new CharClass(false, true, 0, 0);
+            } else if (accept("[")) {
+                body = parseClass();
+                if (body == null || body.containsLineTerminator()) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+
+            if (!parseQuantifier()) {
+                return false;
+            }
+            accept("$");
+            return pos == regex.length();
+        }
+
+        private boolean parseQuantifier() {
+            if (accept("+")) {
+                minLength = 1;
+                return true;
+            }
+            if (accept("*")) {
+                return true;
+            }
+            if (!accept("{")) {
+                return false;
+            }
+            int min = parseNumber();
+            if (min < 0) {
+                return false;
+            }
+            minLength = min;
+            if (accept("}")) {
+                maxLength = min;
+                return true;
+            }
+            if (!accept(",")) {
+                return false;
+            }
+            if (accept("}")) {
+                return true;
+            }
+            int max = parseNumber();
+            if (max < min || !accept("}")) {
+                return false;
+            }
+            maxLength = max;
+            return true;
+        }
+
+        private int parseNumber() {
+            int start = pos;
+            while (pos < regex.length() && Character.isDigit(regex.charAt(pos)) && pos - start < 9) {
+                pos++;
+            }
+            return pos == start ? -1 : Integer.parseInt(regex.substring(start, pos));
+        }
+
+        /**
+         * Parses a character class whose opening bracket has already been consumed.
+         *
+         * @return the class, or {@code null} if it uses unsupported syntax.
+         */
+        private CharClass parseClass() {
+            long low = 0;
+            long high = 0;
+            if (peek() == '^' || peek() == ']') {
+                return null;
+            }
+            while (pos < regex.length() && peek() != ']') {
+                int from = parseClassChar();
+                if (from == -2) {
+                    // \d shorthand
+                    CharClass digits = range('0', '9');
+                    low |= digits.low;
+                    continue;
+                }
+                if (from < 0) {
+                    return null;
+                }
+                int to = from;
+                if (peek() == '-' && pos + 1 < regex.length() && regex.charAt(pos + 1) != ']') {
+                    pos++;
+                    to = parseClassChar();
+                    if (to < from) {
+                        return null;
+                    }
+                }
+                for (int c = from; c <= to; c++) {
+                    if (c < 64) {
+                        low |= 1L << c;
+                    } else {
+                        high |= 1L << (c - 64);
+                    }
+                }
+            }
+            if (!accept("]")) {
+                return null;
+            }
+            return new CharClass(false, false, low, high);
+        }
+
+        /**
+         * Parses one character of a class.
+         *
+         * @return the character, {@code -2} for {@code \d}, or {@code -1} if it is not supported.
+         */
+        private int parseClassChar() {
+            char c = regex.charAt(pos++);
+            if (c == '[' || c >= 128 || (c == '&' && peek() == '&')) {
+                return -1;
+            }
+            if (c != '\\') {
+                return c;
+            }
+            if (pos >= regex.length()) {
+                return -1;
+            }
+            char escaped = regex.charAt(pos++);
+            if (escaped == 'd') {
+                return -2;
+            }
+            return Character.isLetterOrDigit(escaped) || escaped >= 128 ? -1 : escaped;
+        }
+
+        private static CharClass range(char from, char to) {
+            long low = 0;
+            for (int c = from; c <= to; c++) {
+                low |= 1L << c;
+            }
+            return new CharClass(false, false, low, 0);
+        }
+
+        private char peek() {
+            return pos < regex.length() ? regex.charAt(pos) : '\0';
+        }
+
+        private boolean accept(String token) {
+            if (regex.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+    }
+}
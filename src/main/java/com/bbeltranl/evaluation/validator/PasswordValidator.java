@@ -2,7 +2,7 @@ package com.bbeltranl.evaluation.validator;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Validator implementation for the {@link ValidPassword} annotation.
@@ -12,7 +12,8 @@ import org.springframework.beans.factory.annotation.Value;
  * the defined pattern to ensure it meets the required criteria.
  * </p>
  * <p>
- * The password pattern is injected from application properties and used to validate the password value.
+ * The password pattern is compiled once at startup into a {@link PasswordPolicy}, which is injected and
+ * shared by every validator instance.
  * </p>
  *
  * @author bbeltranl
@@ -21,8 +22,8 @@ import org.springframework.beans.factory.annotation.Value;
  */
 public class PasswordValidator implements ConstraintValidator<ValidPassword, String> {
 
-    @Value("${custom.patterns.password}")
-    private String passwordPattern;
+    @Autowired
+    private PasswordPolicy passwordPolicy;
 
     /**
      * Initializes the validator with the given annotation.
@@ -48,6 +49,6 @@ public class PasswordValidator implements ConstraintValidator<ValidPassword, Str
         if (value == null) {
             return false;
         }
-        return value.matches(passwordPattern);
+        return passwordPolicy.matches(value);
     }
 }
@@ -0,0 +1,258 @@
+package com.bbeltranl.evaluation.web;
+
+import com.bbeltranl.evaluation.cache.IdempotencyCache;
+import com.bbeltranl.evaluation.cache.IdempotencyCache.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Servlet filter that makes {@code POST} requests carrying an {@value #HEADER} header safe to retry.
+ * <p>
+ * The first request with a key executes normally and its status, headers and body are stored in the
+ * {@link IdempotencyCache}. Later requests with the same key are answered with the stored response, byte for
+ * byte, with an additional {@value #REPLAYED_HEADER} header, and never reach the controller. Requests that
+ * arrive while the first one is still running wait up to {@code custom.idempotency.wait-timeout} for its
+ * response, so concurrent duplicates execute once.
+ * </p>
+ * <p>
+ * Responses with a 5xx status code are not stored, and the next request with the key executes again. A key
+ * sent again with a different request body is answered with 422, and a key whose first request is still
+ * running after the wait with 409, both as a JSON-formatted error message. The body is held in memory to
+ * fingerprint and replay it, so a body larger than {@code custom.idempotency.max-body-size} is answered with 413
+ * before it is buffered. Requests without the header are not affected.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /**
+     * Request header holding the idempotency key chosen by the client.
+     */
+    public static final String HEADER = "Idempotency-Key";
+
+    /**
+     * Response header added to replayed responses.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyCache idempotencyCache;
+
+    private final Duration waitTimeout;
+
+    private final int maxBodySize;
+
+    /**
+     * Creates the filter.
+     *
+     * @param idempotencyCache the store of the responses.
+     * @param waitTimeout how long a request waits for the running request with the same key.
+     * @param maxBodySize the largest request body that is buffered, in bytes.
+     */
+    public IdempotencyFilter(IdempotencyCache idempotencyCache, Duration waitTimeout, int maxBodySize) {
+        this.idempotencyCache = idempotencyCache;
+        this.waitTimeout = waitTimeout;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpServletResponse.SC_BAD_REQUEST, "Idempotency-Key inválida");
+            return;
+        }
+        // the declared length may be absent, as with chunked bodies, so the read is bounded as well
+        byte[] body = request.getContentLengthLong() > maxBodySize ? null
+                : request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body == null || body.length > maxBodySize) {
+            reject(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Cuerpo de la solicitud demasiado grande");
+            return;
+        }
+        String fingerprint = fingerprint(body);
+        String key = request.getRequestURI() + " " + idempotencyKey;
+
+        while (true) {
+            CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> existing = idempotencyCache.reserve(key, pending);
+            if (existing == null) {
+                execute(new CachedBodyRequest(request, body), response, filterChain, key, pending, fingerprint);
+                return;
+            }
+
+            boolean waited = !existing.isDone();
+            StoredResponse stored;
+            try {
+                stored = existing.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                reject(response, HttpServletResponse.SC_CONFLICT, "Solicitud con la misma Idempotency-Key en curso");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(response, HttpServletResponse.SC_CONFLICT, "Solicitud con la misma Idempotency-Key en curso");
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            if (stored == null) {
+                continue;
+            }
+            if (!stored.fingerprint().equals(fingerprint)) {
+                reject(response, 422, "Idempotency-Key usada con otra solicitud");
+                return;
+            }
+            idempotencyCache.recordReplay(waited);
+            replay(stored, response);
+            return;
+        }
+    }
+
+    /**
+     * Executes the request holding the key and stores its response, unless it failed.
+     */
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, CompletableFuture<StoredResponse> pending, String fingerprint)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper recorder = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, recorder);
+            if (recorder.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+                Map<String, List<String>> headers = new LinkedHashMap<>();
+                for (String name : recorder.getHeaderNames()) {
+                    headers.put(name, List.copyOf(recorder.getHeaders(name)));
+                }
+                if (recorder.getContentType() != null) {
+                    headers.put("Content-Type", List.of(recorder.getContentType()));
+                }
+                stored = new StoredResponse(recorder.getStatus(), headers, recorder.getContentAsByteArray(),
+                        fingerprint);
+            }
+        } finally {
+            idempotencyCache.complete(key, pending, stored);
+            recorder.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"mensaje\": \"" + message + "\"}");
+    }
+
+    /**
+     * Request whose body has already been read, served again from memory.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // the whole body is in memory, so it is available and can be read to the end right away
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            String encoding = getCharacterEncoding() == null ? StandardCharsets.UTF_8.name() : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+-- Schema of the reactive profile, which runs without JPA. Keep it in line with the User and Phone entities.
+create table if not exists "user" (
+    id uuid not null primary key,
+    name varchar(255),
+    email varchar(255),
+    name_key varchar(255) generated always as (lower(name)),
+    email_domain varchar(255) generated always as (substring(email, locate('@', email) + 1)),
+    password varchar(255),
+    created timestamp(6),
+    modified timestamp(6),
+    last_login timestamp(6),
+    token varchar(255),
+    is_active boolean not null
+);
+
+create unique index if not exists ux_user_email on "user" (email);
+create index if not exists ix_user_name_key on "user" (name_key, id);
+create index if not exists ix_user_email_domain on "user" (email_domain, id);
+
+create table if not exists phone (
+    id uuid not null primary key,
+    number varchar(255),
+    city_code varchar(255),
+    country_code varchar(255),
+    user_id uuid not null references "user" (id)
+);
+
+create index if not exists ix_phone_country_city on phone (country_code, city_code, user_id);
@@ -0,0 +1,203 @@
+package com.bbeltranl.evaluation.benchmark;
+
+import com.bbeltranl.evaluation.EvaluationApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load scenario comparing the execution modes of the API: platform threads, virtual threads and the reactive
+ * (WebFlux + R2DBC) stack.
+ * <p>
+ * For each mode the application is started on a random port against its own in-memory database, seeded with
+ * users, and then hit by a fixed number of concurrent clients for a fixed time. Four out of five requests list a
+ * page of users and the rest register a new user, so every request reaches the database. Passwords are hashed at
+ * the lowest BCrypt cost, as in the tests, so registrations measure the request path rather than the hashing
+ * pool. Throughput and latency percentiles of each mode are printed and written as JSON to {@code target/load/}.
+ * </p>
+ * <p>
+ * Usage: {@code LoadScenario [concurrency] [seconds] [modes...]}, where modes are {@code platform},
+ * {@code virtual}, {@code reactive} or any other Spring profile to activate.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class LoadScenario {
+
+    private static final int SEED_USERS = 1_000;
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 400;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        List<String> modes = args.length > 2 ? List.of(args).subList(2, args.length) : List.of("platform", "virtual", "reactive");
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String mode : modes) {
+            Map<String, Object> result = run(mode, concurrency, seconds);
+            System.out.printf("%-10s concurrency=%d requests=%d errors=%d throughput=%.0f req/s p50=%.2f ms p99=%.2f ms%n",
+                    mode, concurrency, result.get("requests"), result.get("errors"), result.get("throughput"),
+                    result.get("p50Millis"), result.get("p99Millis"));
+            results.add(result);
+        }
+
+        Path output = Path.of("target", "load",
+                "load-result-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Files.createDirectories(output.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), results);
+        System.out.println("Results written to " + output);
+    }
+
+    private static Map<String, Object> run(String mode, int concurrency, int seconds) throws Exception {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                "spring.r2dbc.url=r2dbc:h2:mem:///load-" + mode + ";DB_CLOSE_DELAY=-1",
+                "server.tomcat.accept-count=" + concurrency,
+                "custom.password.cost=4",
+                "logging.level.root=WARN"));
+        String profile = switch (mode) {
+            case "platform" -> null;
+            case "virtual" -> "virtual-threads";
+            default -> mode;
+        };
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(EvaluationApplication.class)
+                .properties(properties.toArray(new String[0]));
+        if (profile != null) {
+            builder.profiles(profile);
+        }
+        try (ConfigurableApplicationContext context = builder.run();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port + "/users/";
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            seed(httpClient, baseUrl);
+            // warm-up, not recorded
+            drive(httpClient, baseUrl, clients, concurrency, Math.max(2, seconds / 4), new AtomicLong(), null);
+
+            AtomicLong errors = new AtomicLong();
+            List<long[]> latencies = Collections.synchronizedList(new ArrayList<>());
+            long start = System.nanoTime();
+            drive(httpClient, baseUrl, clients, concurrency, seconds, errors, latencies);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", mode);
+            result.put("concurrency", concurrency);
+            result.put("seconds", seconds);
+            result.put("requests", all.length);
+            result.put("errors", errors.get());
+            result.put("throughput", all.length / elapsedSeconds);
+            result.put("p50Millis", percentile(all, 0.50));
+            result.put("p99Millis", percentile(all, 0.99));
+            result.put("maxMillis", all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+            return result;
+        }
+    }
+
+    private static void seed(HttpClient httpClient, String baseUrl) throws IOException, InterruptedException {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < SEED_USERS; i++) {
+            body.append(i == 0 ? "" : ",").append(userJson("seed" + i));
+        }
+        body.append("]");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static void drive(HttpClient httpClient, String baseUrl, ExecutorService clients, int concurrency,
+                              int seconds, AtomicLong errors, List<long[]> latencies) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < concurrency; c++) {
+            futures.add(clients.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = nextRequest(baseUrl);
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - begin;
+                }
+                if (latencies != null) {
+                    latencies.add(Arrays.copyOf(samples, count));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    private static HttpRequest nextRequest(String baseUrl) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(5) == 0) {
+            return HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(userJson("load" + Long.toString(SEQUENCE.incrementAndGet(), 36))))
+                    .build();
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + "?size=20")).GET().build();
+    }
+
+    private static String userJson(String name) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + name + "@example.com\",\"password\":\"Password1!\","
+                + "\"phones\":[{\"number\":\"5550000\",\"cityCode\":\"1\",\"countryCode\":\"57\"}]}";
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
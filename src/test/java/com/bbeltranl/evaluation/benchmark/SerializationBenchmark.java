@@ -0,0 +1,87 @@
+package com.bbeltranl.evaluation.benchmark;
+
+import com.bbeltranl.evaluation.dto.UserResponse;
+import com.bbeltranl.evaluation.model.Phone;
+import com.bbeltranl.evaluation.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson serialization of {@link User} and {@link UserResponse} lists of different sizes,
+ * using an {@link ObjectMapper} configured like the one of the application.
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<User> users;
+
+    private List<UserResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        users = new ArrayList<>(size);
+        responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Phone phone = new Phone();
+            phone.setId(UUID.randomUUID());
+            phone.setNumber("555000" + i);
+            phone.setCityCode("1");
+            phone.setCountryCode("57");
+
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("Password1!");
+            user.setCreated(new Date());
+            user.setModified(new Date());
+            user.setLastLogin(new Date());
+            user.setToken("eyJraWQiOiJkZWZhdWx0IiwiYWxnIjoiSFM1MTIifQ.eyJzdWIiOiJ1c2VyQGV4YW1wbGUuY29tIn0.signature");
+            user.setActive(true);
+            user.setPhones(List.of(phone));
+            users.add(user);
+
+            UserResponse response = new UserResponse();
+            response.setId(user.getId());
+            response.setCreated(user.getCreated());
+            response.setModified(user.getModified());
+            response.setLastLogin(user.getLastLogin());
+            response.setToken(user.getToken());
+            response.setIsActive(true);
+            responses.add(response);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeUsers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] serializeUserResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
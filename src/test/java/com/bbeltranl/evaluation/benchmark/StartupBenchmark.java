@@ -0,0 +1,146 @@
+package com.bbeltranl.evaluation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark comparing the default mode of the application with the fast-startup mode (class-data-sharing
+ * archive, Spring AOT and the {@code fast-startup} profile).
+ * <p>
+ * Each run starts the application in a new JVM on a free port and polls {@code GET /users/} until it answers 200;
+ * the time from launching the process to that response is the time to the first successful request, which is what
+ * delays new capacity when pods are added. The process is then stopped. The median, minimum and maximum of every
+ * mode are printed and written as JSON to {@code target/startup/}; the output of each process is kept next to it.
+ * </p>
+ * <p>
+ * Usage: {@code StartupBenchmark <jar> <fast-startup directory> [runs]}, after {@code ./mvnw -Pfast-startup package}
+ * has built the jar and the extracted application with its archive.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final Path OUTPUT_DIRECTORY = Path.of("target", "startup");
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        Path fastStartupDirectory = Path.of(args[1]);
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        Path extractedJar = fastStartupDirectory.resolve(jar.getFileName());
+        Path archive = fastStartupDirectory.resolve("application.jsa");
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default", List.of("-jar", jar.toString()));
+        modes.put("fast-startup", List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                "-Dspring.profiles.active=fast-startup", "-jar", extractedJar.toString()));
+
+        Files.createDirectories(OUTPUT_DIRECTORY);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            // warm-up, not recorded: fills the OS file cache for the jars
+            timeToFirstRequest(httpClient, mode.getKey(), -1, mode.getValue());
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = timeToFirstRequest(httpClient, mode.getKey(), run, mode.getValue());
+            }
+            Arrays.sort(millis);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", mode.getKey());
+            result.put("runs", runs);
+            result.put("medianMillis", millis[runs / 2]);
+            result.put("minMillis", millis[0]);
+            result.put("maxMillis", millis[runs - 1]);
+            result.put("samplesMillis", millis);
+            System.out.printf("%-13s runs=%d time-to-first-request median=%d ms min=%d ms max=%d ms%n",
+                    mode.getKey(), runs, millis[runs / 2], millis[0], millis[runs - 1]);
+            results.add(result);
+        }
+
+        Path output = OUTPUT_DIRECTORY.resolve(
+                "startup-result-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), results);
+        System.out.println("Results written to " + output);
+    }
+
+    /**
+     * Starts the application and measures the time until it first answers {@code GET /users/} with 200.
+     *
+     * @param httpClient the client used to poll the application.
+     * @param mode the name of the mode, used to name the log file.
+     * @param run the number of the run, used to name the log file.
+     * @param jvmArgs the JVM arguments that select the mode, ending with the jar to run.
+     * @return the elapsed time in milliseconds.
+     */
+    private static long timeToFirstRequest(HttpClient httpClient, String mode, int run, List<String> jvmArgs)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("--server.port=" + port);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        Path log = OUTPUT_DIRECTORY.resolve(mode + (run < 0 ? "-warmup" : "-" + run) + ".log");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode + " did not answer within " + STARTUP_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.bbeltranl.evaluation.benchmark;
+
+import com.bbeltranl.evaluation.config.JwtProperties;
+import com.bbeltranl.evaluation.service.TokenService;
+import com.bbeltranl.evaluation.service.impl.TokenServiceImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JWT generation and verification.
+ * <p>
+ * {@code legacyGenerateToken} reproduces the former implementation, which derived the signing key from
+ * the secret string on every call.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBenchmark {
+
+    private TokenService tokenService;
+
+    private TokenService uncachedTokenService;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.getKeys().put("default", "secret");
+        tokenService = new TokenServiceImpl(properties);
+
+        JwtProperties uncached = new JwtProperties();
+        uncached.getKeys().put("default", "secret");
+        uncached.setVerificationCacheTtl(Duration.ZERO);
+        uncachedTokenService = new TokenServiceImpl(uncached);
+
+        token = tokenService.generateToken("user@example.com");
+    }
+
+    @Benchmark
+    public String legacyGenerateToken() {
+        return Jwts.builder()
+                .setSubject("user@example.com")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+                .signWith(SignatureAlgorithm.HS512, "secret")
+                .compact();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken("user@example.com");
+    }
+
+    @Benchmark
+    public String verifyTokenCached() {
+        return tokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public String verifyTokenUncached() {
+        return uncachedTokenService.verifyToken(token);
+    }
+}
@@ -0,0 +1,143 @@
+package com.bbeltranl.evaluation.benchmark;
+
+import com.bbeltranl.evaluation.EvaluationApplication;
+import com.bbeltranl.evaluation.dto.CursorPage;
+import com.bbeltranl.evaluation.dto.UserSearchCriteria;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link UserService#search(UserSearchCriteria, String, Integer)} against the embedded H2 database
+ * holding {@code users} users, one phone each, with the application context fully started.
+ * <p>
+ * The users are inserted with plain JDBC batches before the measurements. Names start with one of
+ * {@value #NAMES} first names, emails belong to one of {@value #DOMAINS} domains, phones to one of
+ * {@value #COUNTRIES} countries and {@value #CITIES} cities, and one user in ten is inactive, so every filter
+ * matches a fixed fraction of the users. Each benchmark reads the first page and the page after it.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserSearchBenchmark {
+
+    private static final int NAMES = 50;
+
+    private static final int DOMAINS = 100;
+
+    private static final int COUNTRIES = 50;
+
+    private static final int CITIES = 20;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+
+    private UserService userService;
+
+    private UserSearchCriteria byName;
+
+    private UserSearchCriteria byEmailDomain;
+
+    private UserSearchCriteria byPhone;
+
+    private UserSearchCriteria byNameAndActive;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EvaluationApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:search-benchmark", "logging.level.root=WARN",
+                        "custom.pagination.max-size=" + PAGE_SIZE)
+                .run();
+        userService = context.getBean(UserService.class);
+        insertUsers(context.getBean(JdbcTemplate.class));
+
+        byName = new UserSearchCriteria();
+        byName.setName("name7");
+        byEmailDomain = new UserSearchCriteria();
+        byEmailDomain.setEmailDomain("domain42.com");
+        byPhone = new UserSearchCriteria();
+        byPhone.setCountryCode("33");
+        byPhone.setCityCode("13");
+        byNameAndActive = new UserSearchCriteria();
+        byNameAndActive.setName("name1");
+        byNameAndActive.setActive(false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserView> searchByNamePrefix() {
+        return twoPages(byName);
+    }
+
+    @Benchmark
+    public List<UserView> searchByEmailDomain() {
+        return twoPages(byEmailDomain);
+    }
+
+    @Benchmark
+    public List<UserView> searchByCountryAndCity() {
+        return twoPages(byPhone);
+    }
+
+    @Benchmark
+    public List<UserView> searchByNamePrefixAndInactive() {
+        return twoPages(byNameAndActive);
+    }
+
+    private List<UserView> twoPages(UserSearchCriteria criteria) {
+        CursorPage<UserView> first = userService.search(criteria, null, PAGE_SIZE);
+        CursorPage<UserView> second = userService.search(criteria, first.getNextCursor(), PAGE_SIZE);
+        List<UserView> found = new ArrayList<>(first.getItems());
+        found.addAll(second.getItems());
+        return found;
+    }
+
+    private void insertUsers(JdbcTemplate jdbcTemplate) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int batch = 10_000;
+        for (int from = 0; from < users; from += batch) {
+            List<Object[]> userRows = new ArrayList<>(batch);
+            List<Object[]> phoneRows = new ArrayList<>(batch);
+            for (int n = from; n < Math.min(from + batch, users); n++) {
+                UUID id = UUID.randomUUID();
+                userRows.add(new Object[]{id, "Name" + (n % NAMES) + " User" + n,
+                        "user" + n + "@domain" + (n % DOMAINS) + ".com", "x", now, now, now, "t", n % 10 != 0});
+                phoneRows.add(new Object[]{UUID.randomUUID(), "555" + n, String.valueOf(n % CITIES),
+                        String.valueOf(n % COUNTRIES), id});
+            }
+            jdbcTemplate.batchUpdate("insert into \"user\" (id, name, email, password, created, modified, "
+                    + "last_login, token, is_active) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", userRows);
+            jdbcTemplate.batchUpdate(
+                    "insert into phone (id, number, city_code, country_code, user_id) values (?, ?, ?, ?, ?)",
+                    phoneRows);
+        }
+        jdbcTemplate.execute("analyze");
+    }
+}
@@ -0,0 +1,84 @@
+package com.bbeltranl.evaluation.benchmark;
+
+import com.bbeltranl.evaluation.EvaluationApplication;
+import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.model.Phone;
+import com.bbeltranl.evaluation.model.User;
+import com.bbeltranl.evaluation.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures {@link UserService#registerUser(UserRequest)} and {@link UserService#updateUser(UUID, UserRequest, java.util.Date)}
+ * against the embedded H2 database, with the application context fully started.
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+
+    private UserService userService;
+
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EvaluationApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark", "logging.level.root=WARN")
+                .run();
+        userService = context.getBean(UserService.class);
+        userId = userService.registerUser(newRequest()).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User registerUser() {
+        return userService.registerUser(newRequest());
+    }
+
+    @Benchmark
+    public UserView updateUser() {
+        UserRequest request = new UserRequest();
+        request.setName("Updated " + sequence.incrementAndGet());
+        return userService.updateUser(userId, request, null);
+    }
+
+    private UserRequest newRequest() {
+        long n = sequence.incrementAndGet();
+        Phone phone = new Phone();
+        phone.setNumber("555" + n);
+        phone.setCityCode("1");
+        phone.setCountryCode("57");
+
+        UserRequest request = new UserRequest();
+        request.setName("User " + n);
+        request.setEmail("user" + n + "@example.com");
+        request.setPassword("Password1!");
+        request.setPhones(List.of(phone));
+        return request;
+    }
+}
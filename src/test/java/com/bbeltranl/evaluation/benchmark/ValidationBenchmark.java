@@ -0,0 +1,91 @@
+package com.bbeltranl.evaluation.benchmark;
+
+import com.bbeltranl.evaluation.validator.EmailValidator;
+import com.bbeltranl.evaluation.validator.PasswordPolicy;
+import com.bbeltranl.evaluation.validator.PasswordValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the compiled password policy and the email validator with the regular expressions they replace.
+ * <p>
+ * The {@code legacy*} benchmarks reproduce the previous implementation: {@code String.matches} with the
+ * configured password expression, which compiles the pattern on every call, and the former {@code @Pattern}
+ * email expression.
+ * </p>
+ *
+ * @author bbeltranl
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final String PASSWORD_REGEX = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!.])(?=\\S+$).{8,}$";
+
+    private static final String EMAIL_REGEX = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$";
+
+    @State(Scope.Benchmark)
+    public static class PasswordState {
+
+        @Param({"Password1!", "passwordwithoutdigits", "Str0ng.And.Rather.Long.Passw0rd"})
+        public String password;
+
+        private PasswordPolicy passwordPolicy;
+
+        private PasswordValidator passwordValidator;
+
+        @Setup
+        public void setUp() {
+            passwordPolicy = new PasswordPolicy(PASSWORD_REGEX);
+            passwordValidator = new PasswordValidator();
+            ReflectionTestUtils.setField(passwordValidator, "passwordPolicy", passwordPolicy);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class EmailState {
+
+        @Param({"user@domain.com", "first.last+tag@sub.domain.museum"})
+        public String email;
+
+        private Pattern emailPattern;
+
+        @Setup
+        public void setUp() {
+            emailPattern = Pattern.compile(EMAIL_REGEX);
+        }
+    }
+
+    @Benchmark
+    public boolean legacyPassword(PasswordState state) {
+        return state.password.matches(PASSWORD_REGEX);
+    }
+
+    @Benchmark
+    public boolean compiledPassword(PasswordState state) {
+        return state.passwordPolicy.matches(state.password);
+    }
+
+    @Benchmark
+    public boolean passwordValidator(PasswordState state) {
+        return state.passwordValidator.isValid(state.password, null);
+    }
+
+    @Benchmark
+    public boolean legacyEmail(EmailState state) {
+        return state.emailPattern.matcher(state.email).matches();
+    }
+
+    @Benchmark
+    public boolean compiledEmail(EmailState state) {
+        return EmailValidator.isValidEmail(state.email);
+    }
+}
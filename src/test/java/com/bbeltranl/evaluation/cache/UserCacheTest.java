@@ -0,0 +1,119 @@
+package com.bbeltranl.evaluation.cache;
+
+import com.bbeltranl.evaluation.dto.UserView;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserCacheTest {
+
+    private final UserCache userCache = new UserCache(100, Duration.ofMinutes(5));
+
+    @Test
+    public void testGetByIdLoadsOnlyOnMiss() {
+        UserView user = newUser("test@example.com");
+        AtomicInteger loads = new AtomicInteger();
+
+        userCache.getById(user.getId(), id -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+        Optional<UserView> cached = userCache.getById(user.getId(), id -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+
+        assertSame(user, cached.orElseThrow());
+        assertEquals(1, loads.get());
+        assertEquals(1, userCache.stats().get(UserCache.BY_ID).hitCount());
+        assertEquals(1, userCache.stats().get(UserCache.BY_ID).missCount());
+    }
+
+    @Test
+    public void testMissingUserIsNotCached() {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        userCache.getById(id, key -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<UserView> result = userCache.getById(id, key -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertTrue(result.isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testEvictByIdInvalidatesEmailLookup() {
+        UserView user = newUser("test@example.com");
+        userCache.put(user);
+
+        assertSame(user, userCache.getByEmail("test@example.com", email -> Optional.empty(), id -> Optional.empty()).orElseThrow());
+
+        userCache.evict(user.getId());
+
+        assertTrue(userCache.getByEmail("test@example.com", email -> Optional.empty(), id -> Optional.empty()).isEmpty());
+    }
+
+    @Test
+    public void testEmailLookupIgnoresUserWhoseEmailChanged() {
+        UserView user = newUser("old@example.com");
+        userCache.put(user);
+        user.setEmail("new@example.com");
+
+        assertTrue(userCache.getByEmail("old@example.com", email -> Optional.empty(), id -> Optional.empty()).isEmpty());
+    }
+
+    @Test
+    public void testEvictDuringEmailLoadIsNotOverwritten() throws Exception {
+        UserView stale = newUser("test@example.com");
+        CountDownLatch loading = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<UserView>> reader = executor.submit(() -> userCache.getByEmail("test@example.com",
+                    email -> Optional.of(stale.getId()), id -> {
+                        loading.countDown();
+                        sleep(200);
+                        return Optional.of(stale);
+                    }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // the update that made the loaded row stale commits while it is being read
+            userCache.evict(stale.getId());
+
+            assertSame(stale, reader.get(5, TimeUnit.SECONDS).orElseThrow());
+            assertTrue(userCache.getIfPresent(stale.getId()).isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static UserView newUser(String email) {
+        UserView user = new UserView();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,224 @@
+package com.bbeltranl.evaluation.controller;
+
+import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.dto.UserResponse;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.model.Phone;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactive-test;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("reactive")
+public class ReactiveUserRouterTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    public void testRegisterAndFind() {
+        UserResponse created = webTestClient.post().uri("/users/")
+                .bodyValue(newRequest("Reactive@Example.com"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+        assertNotNull(created.getToken());
+
+        webTestClient.get().uri("/users/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("reactive@example.com")
+                .jsonPath("$.phones[0].number").isEqualTo("1234567");
+
+        webTestClient.get().uri("/users/by-email?email=REACTIVE@example.com")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(created.getId().toString());
+    }
+
+    @Test
+    public void testRegisterExistingEmail() {
+        webTestClient.post().uri("/users/").bodyValue(newRequest("twice@example.com"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.post().uri("/users/").bodyValue(newRequest("TWICE@example.com"))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.mensaje").isEqualTo("El correo ya registrado");
+    }
+
+    @Test
+    public void testRegisterInvalidUser() {
+        UserRequest request = newRequest("invalid@example.com");
+        request.setPassword("weak");
+
+        webTestClient.post().uri("/users/").bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.password").exists();
+    }
+
+    @Test
+    public void testRegisterUsersAndPage() {
+        webTestClient.post().uri("/users/batch")
+                .bodyValue(List.of(newRequest("batch1@example.com"), newRequest("batch2@example.com"),
+                        newRequest("BATCH1@example.com")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo(201)
+                .jsonPath("$[1].status").isEqualTo(201)
+                .jsonPath("$[2].status").isEqualTo(409);
+
+        webTestClient.get().uri("/users/?size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.nextCursor").exists();
+
+        webTestClient.get().uri("/users/?cursor=%%%")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testUpdateAndDelete() {
+        UserResponse created = webTestClient.post().uri("/users/")
+                .bodyValue(newRequest("update@example.com"))
+                .exchange()
+                .expectBody(UserResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+
+        UserRequest update = new UserRequest();
+        update.setName("Renamed");
+        update.setPhones(List.of());
+        webTestClient.patch().uri("/users/{id}", created.getId()).bodyValue(update)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Renamed")
+                .jsonPath("$.phones.length()").isEqualTo(0);
+
+        webTestClient.delete().uri("/users/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.delete().uri("/users/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.mensaje").isEqualTo("Usuario no encontrado");
+
+        webTestClient.get().uri("/users/{id}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testExportUsers() {
+        webTestClient.post().uri("/users/").bodyValue(newRequest("export@example.com"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        List<UserView> users = webTestClient.get().uri("/users/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(UserView.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(users);
+        UserView exported = users.stream()
+                .filter(user -> "export@example.com".equals(user.getEmail()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, exported.getPhones().size());
+    }
+
+    @Test
+    public void testConditionalRequests() {
+        UserResponse created = webTestClient.post().uri("/users/")
+                .bodyValue(newRequest("etag@example.com"))
+                .exchange()
+                .expectBody(UserResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(created);
+
+        String eTag = webTestClient.get().uri("/users/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+        assertNotNull(eTag);
+
+        webTestClient.get().uri("/users/{id}", created.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        UserRequest update = new UserRequest();
+        update.setName("Renamed");
+        String newETag = webTestClient.patch().uri("/users/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+        assertNotEquals(eTag, newETag);
+
+        webTestClient.delete().uri("/users/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        webTestClient.delete().uri("/users/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, newETag)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    private static UserRequest newRequest(String email) {
+        Phone phone = new Phone();
+        phone.setNumber("1234567");
+        phone.setCityCode("1");
+        phone.setCountryCode("57");
+
+        UserRequest request = new UserRequest();
+        request.setName("Reactive");
+        request.setEmail(email);
+        request.setPassword("Password1!");
+        request.setPhones(List.of(phone));
+        return request;
+    }
+}
@@ -0,0 +1,120 @@
+package com.bbeltranl.evaluation.controller;
+
+import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.dto.UserResponse;
+import com.bbeltranl.evaluation.model.Phone;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "custom.password.cost=4")
+@AutoConfigureMockMvc
+public class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testGetWithMatchingIfNoneMatchIsNotModified() throws Exception {
+        UUID id = register("not-modified@example.com");
+        String eTag = eTagOf(id);
+
+        mockMvc.perform(get("/users/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/users/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(jsonPath("$.email").value("not-modified@example.com"));
+    }
+
+    @Test
+    public void testWritesWithMatchingIfMatchApply() throws Exception {
+        UUID id = register("if-match@example.com");
+        String eTag = eTagOf(id);
+
+        String newETag = mockMvc.perform(patch("/users/{id}", id).header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renombrado\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renombrado"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(newETag);
+        assertNotEquals(eTag, newETag);
+
+        mockMvc.perform(delete("/users/{id}", id).header(HttpHeaders.IF_MATCH, newETag))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/users/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testWritesWithStaleIfMatchArePreconditionFailed() throws Exception {
+        UUID id = register("stale@example.com");
+        String staleETag = eTagOf(id);
+        mockMvc.perform(patch("/users/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Primero\"}"))
+                .andExpect(status().isOk());
+        String currentETag = eTagOf(id);
+
+        mockMvc.perform(patch("/users/{id}", id).header(HttpHeaders.IF_MATCH, staleETag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Segundo\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().string(""));
+        mockMvc.perform(delete("/users/{id}", id).header(HttpHeaders.IF_MATCH, staleETag))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, currentETag))
+                .andExpect(jsonPath("$.name").value("Primero"));
+    }
+
+    private UUID register(String email) throws Exception {
+        Phone phone = new Phone();
+        phone.setNumber("1234567");
+        phone.setCityCode("1");
+        phone.setCountryCode("57");
+        UserRequest request = new UserRequest();
+        request.setName("Usuario");
+        request.setEmail(email);
+        request.setPassword("Password1!");
+        request.setPhones(List.of(phone));
+
+        String body = mockMvc.perform(post("/users/")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, UserResponse.class).getId();
+    }
+
+    private String eTagOf(UUID id) throws Exception {
+        String eTag = mockMvc.perform(get("/users/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+}
@@ -0,0 +1,131 @@
+package com.bbeltranl.evaluation.feed;
+
+import com.bbeltranl.evaluation.dto.UserChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserChangeFeedTest {
+
+    private final UserChangeFeed feed = new UserChangeFeed(3, Duration.ofMinutes(1));
+
+    @AfterEach
+    public void tearDown() {
+        feed.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testReadReturnsEventsAfterOffset() {
+        long start = feed.lastOffset();
+        UserChangeEvent first = feed.publish(UserChangeEvent.Type.CREATED, UUID.randomUUID(), null);
+        UserChangeEvent second = feed.publish(UserChangeEvent.Type.DELETED, UUID.randomUUID(), null);
+
+        assertEquals(start + 1, first.getOffset());
+        assertEquals(first.getOffset() + 1, second.getOffset());
+        assertEquals(List.of(first, second), feed.read(start, 10).orElseThrow());
+        assertEquals(List.of(second), feed.read(first.getOffset(), 10).orElseThrow());
+        assertEquals(List.of(), feed.read(second.getOffset(), 10).orElseThrow());
+        assertEquals(List.of(first), feed.read(start, 1).orElseThrow());
+    }
+
+    @Test
+    public void testReadOverwrittenOrUnknownOffsetIsEmpty() {
+        long start = feed.lastOffset();
+        for (int i = 0; i < 4; i++) {
+            feed.publish(UserChangeEvent.Type.UPDATED, UUID.randomUUID(), null);
+        }
+
+        assertTrue(feed.read(start, 10).isEmpty());
+        assertEquals(3, feed.read(start + 1, 10).orElseThrow().size());
+        assertTrue(feed.read(feed.lastOffset() + 1, 10).isEmpty());
+        assertTrue(feed.read(start - 100, 10).isEmpty());
+    }
+
+    @Test
+    public void testPublishAfterCommitWaitsForCommit() {
+        long start = feed.lastOffset();
+        TransactionSynchronizationManager.initSynchronization();
+        feed.publishAfterCommit(UserChangeEvent.Type.DELETED, UUID.randomUUID(), null);
+
+        assertEquals(start, feed.lastOffset());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(start + 1, feed.lastOffset());
+    }
+
+    @Test
+    public void testPublishAfterCommitWithoutTransactionPublishesRightAway() {
+        long start = feed.lastOffset();
+
+        feed.publishAfterCommit(UserChangeEvent.Type.CREATED, UUID.randomUUID(), null);
+
+        assertEquals(start + 1, feed.lastOffset());
+    }
+
+    @Test
+    public void testSubscriberThatStopsReadingDoesNotBlockOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch stuck = new CountDownLatch(1);
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                // a client that stopped reading: the socket buffer is full and the write never returns
+                stuck.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        SseEmitter reading = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                received.add(builder.build().stream().map(part -> String.valueOf(part.getData()))
+                        .collect(Collectors.joining()));
+            }
+        };
+        try {
+            feed.subscribe(null, stalled);
+            feed.subscribe(null, reading);
+
+            feed.publish(UserChangeEvent.Type.CREATED, UUID.randomUUID(), null);
+            assertTrue(stuck.await(5, TimeUnit.SECONDS));
+            UserChangeEvent second = feed.publish(UserChangeEvent.Type.DELETED, UUID.randomUUID(), null);
+            feed.heartbeat();
+
+            List<String> messages = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                String message = received.poll(5, TimeUnit.SECONDS);
+                assertNotNull(message, "delivery to the reading subscriber was blocked");
+                messages.add(message);
+            }
+            assertTrue(messages.stream().anyMatch(message -> message.contains("id:" + second.getOffset())),
+                    messages::toString);
+            assertTrue(messages.stream().anyMatch(message -> message.contains("heartbeat")), messages::toString);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bbeltranl.evaluation.metrics;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OutcomeObservationConventionTest {
+
+    private final OutcomeObservationConvention convention = new OutcomeObservationConvention();
+
+    @Test
+    public void testResultTag() {
+        assertEquals("created", resultFor(201));
+        assertEquals("deleted", resultFor(204));
+        assertEquals("validation_error", resultFor(400));
+        assertEquals("unauthorized", resultFor(401));
+        assertEquals("not_found", resultFor(404));
+        assertEquals("conflict", resultFor(409));
+        assertEquals("client_error", resultFor(415));
+        assertEquals("overloaded", resultFor(503));
+        assertEquals("server_error", resultFor(500));
+        assertEquals("success", resultFor(200));
+    }
+
+    @Test
+    public void testStandardTagsAreKept() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(409);
+        ServerRequestObservationContext context =
+                new ServerRequestObservationContext(new MockHttpServletRequest("POST", "/users/"), response);
+
+        assertTrue(convention.getLowCardinalityKeyValues(context).stream()
+                .map(KeyValue::getKey)
+                .toList()
+                .containsAll(List.of("method", "status", "outcome", OutcomeObservationConvention.RESULT)));
+    }
+
+    private String resultFor(int status) {
+        return OutcomeObservationConvention.result(status);
+    }
+}
@@ -0,0 +1,190 @@
+package com.bbeltranl.evaluation.repository;
+
+import com.bbeltranl.evaluation.exception.EmailConflictException;
+import com.bbeltranl.evaluation.exception.PreconditionFailedException;
+import com.bbeltranl.evaluation.model.Phone;
+import com.bbeltranl.evaluation.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InMemoryUserStoreTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void testSyncWritesReachDatabaseBeforeReturning() {
+        InMemoryUserStore store = newStore("sync");
+        User user = store.insert(newUser());
+        assertEquals(1, countUsers(user.getEmail()));
+        assertEquals(2, countPhones(user.getId()));
+
+        String email = "renamed-" + user.getEmail();
+        User updated = store.update(user.getId(), user.getModified(), copy -> {
+            copy.setEmail(email);
+            copy.setModified(new Date(user.getModified().getTime() + 1));
+            copy.getPhones().remove(0);
+            return copy;
+        });
+        assertEquals(0, countUsers(user.getEmail()));
+        assertEquals(1, countUsers(email));
+        assertEquals(1, countPhones(user.getId()));
+        assertTrue(store.findByEmail(user.getEmail()).isEmpty());
+        assertEquals(user.getId(), store.findByEmail(email).orElseThrow().getId());
+
+        User other = store.insert(newUser());
+        assertThrows(EmailConflictException.class, () -> store.update(other.getId(), null, copy -> {
+            copy.setEmail(email);
+            return copy;
+        }));
+        assertEquals(other.getId(), store.findByEmail(other.getEmail()).orElseThrow().getId());
+        store.delete(other.getId(), null);
+
+        assertThrows(PreconditionFailedException.class, () -> store.delete(user.getId(), user.getModified()));
+        store.delete(user.getId(), updated.getModified());
+        assertEquals(0, countUsers(email));
+        assertEquals(0, countPhones(user.getId()));
+        assertThrows(IllegalArgumentException.class, () -> store.delete(user.getId(), null));
+    }
+
+    @Test
+    public void testFailedSyncWriteIsNeitherVisibleNorPending() {
+        AtomicBoolean failing = new AtomicBoolean();
+        JdbcTemplate failingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                if (failing.get()) {
+                    throw new DataAccessResourceFailureException("La base de datos no responde");
+                }
+                return super.batchUpdate(sql, batchArgs);
+            }
+        };
+        InMemoryUserStore store = new InMemoryUserStore(failingTemplate, transactionTemplate, "sync",
+                Duration.ofHours(1), 2);
+        store.load();
+        User user = store.insert(newUser());
+
+        failing.set(true);
+        Date modified = new Date(user.getModified().getTime() + 1);
+        assertThrows(DataAccessException.class, () -> store.update(user.getId(), user.getModified(), copy -> {
+            copy.setName("Renombrado");
+            copy.setModified(modified);
+            return copy;
+        }));
+        User rejected = newUser();
+        assertThrows(DataAccessException.class, () -> store.insert(rejected));
+        assertThrows(DataAccessException.class, () -> store.delete(user.getId(), null));
+
+        assertEquals("Usuario", store.findById(user.getId()).orElseThrow().getName());
+        assertTrue(store.findByEmail(rejected.getEmail()).isEmpty());
+        assertEquals(0, store.pendingCount());
+
+        failing.set(false);
+        User updated = store.update(user.getId(), user.getModified(), copy -> {
+            copy.setName("Renombrado");
+            copy.setModified(modified);
+            return copy;
+        });
+        assertEquals("Renombrado", updated.getName());
+        assertEquals(1, countUsers(user.getEmail()));
+        store.insert(rejected);
+        assertEquals(1, countUsers(rejected.getEmail()));
+    }
+
+    @Test
+    public void testPeriodicWritesAreCoalescedUntilFlushAndWarmTheNextStore() {
+        InMemoryUserStore store = newStore("periodic");
+        User first = newUser();
+        User duplicate = newUser();
+        duplicate.setEmail(first.getEmail());
+        List<User> inserted = store.insertAll(List.of(first, duplicate, newUser()));
+        assertNull(inserted.get(1));
+        store.update(first.getId(), null, copy -> {
+            copy.setName("Renombrado");
+            return copy;
+        });
+        assertEquals(2, store.pendingCount());
+        assertEquals(0, countUsers(first.getEmail()));
+
+        store.flush();
+        assertEquals(0, store.pendingCount());
+        assertEquals(1, countUsers(first.getEmail()));
+
+        InMemoryUserStore reloaded = newStore("periodic");
+        User loaded = reloaded.findByEmail(first.getEmail()).orElseThrow();
+        assertEquals("Renombrado", loaded.getName());
+        assertEquals(first.getModified().getTime(), loaded.getModified().getTime());
+        assertEquals(2, loaded.getPhones().size());
+        assertEquals(first.getPhones().get(0).getId(), loaded.getPhones().stream()
+                .filter(phone -> phone.getNumber().equals("1234567")).findFirst().orElseThrow().getId());
+    }
+
+    @Test
+    public void testAsyncWritesAreFlushedInBackground() throws InterruptedException {
+        InMemoryUserStore store = newStore("async");
+        User user = store.insert(newUser());
+        for (int i = 0; i < 100 && countUsers(user.getEmail()) == 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, countUsers(user.getEmail()));
+        store.shutdown();
+    }
+
+    private InMemoryUserStore newStore(String durability) {
+        InMemoryUserStore store = new InMemoryUserStore(jdbcTemplate, transactionTemplate, durability,
+                Duration.ofHours(1), 2);
+        store.load();
+        return store;
+    }
+
+    private int countUsers(String email) {
+        return jdbcTemplate.queryForObject("select count(*) from \"user\" where email = ?", Integer.class, email);
+    }
+
+    private int countPhones(UUID userId) {
+        return jdbcTemplate.queryForObject("select count(*) from phone where user_id = ?", Integer.class, userId);
+    }
+
+    private static User newUser() {
+        User user = new User();
+        user.setName("Usuario");
+        user.setEmail(UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        user.setPassword("hash");
+        user.setCreated(new Date());
+        user.setModified(new Date());
+        user.setLastLogin(new Date());
+        user.setToken("token");
+        user.setActive(true);
+        List<Phone> phones = new ArrayList<>();
+        for (String number : List.of("1234567", "7654321")) {
+            Phone phone = new Phone();
+            phone.setNumber(number);
+            phone.setCityCode("1");
+            phone.setCountryCode("57");
+            phones.add(phone);
+        }
+        user.setPhones(phones);
+        return user;
+    }
+}
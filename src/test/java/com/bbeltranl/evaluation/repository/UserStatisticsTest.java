@@ -0,0 +1,103 @@
+package com.bbeltranl.evaluation.repository;
+
+import com.bbeltranl.evaluation.dto.UserStatsResponse;
+import com.bbeltranl.evaluation.model.Phone;
+import com.bbeltranl.evaluation.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class UserStatisticsTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testReconcileBuildsCountersFromDatabase() {
+        userRepository.saveAndFlush(newUser(true, "57", "57", "56"));
+        userRepository.saveAndFlush(newUser(false, "57"));
+        UserStatistics statistics = new UserStatistics(jdbcTemplate, 24);
+
+        statistics.reconcile();
+
+        UserStatsResponse stats = statistics.snapshot();
+        assertEquals(2, stats.getTotal());
+        assertEquals(1, stats.getActive());
+        assertEquals(Map.of("56", 1L, "57", 2L), stats.getByCountryCode());
+        assertEquals(2, stats.getRegistrationsPerHour().values().stream().mapToLong(Long::longValue).sum());
+        assertNotNull(stats.getReconciledAt());
+    }
+
+    @Test
+    public void testRecordedChangesUpdateCounters() {
+        UserStatistics statistics = new UserStatistics(jdbcTemplate, 24);
+        Date now = new Date();
+
+        statistics.recordCreated(true, now, Arrays.asList("57", "57", null));
+        statistics.recordCreated(false, now, List.of("56"));
+        statistics.recordCountryCodesChanged(List.of("57"), List.of("56", "1"));
+        statistics.recordDeleted(false, now, List.of("56"));
+        statistics.recordCreated(true, new Date(now.getTime() - 48L * 3600 * 1000), List.of());
+
+        UserStatsResponse stats = statistics.snapshot();
+        assertEquals(2, stats.getTotal());
+        assertEquals(2, stats.getActive());
+        assertEquals(Map.of("56", 1L, "1", 1L), stats.getByCountryCode());
+        assertEquals(1, stats.getRegistrationsPerHour().values().stream().mapToLong(Long::longValue).sum());
+        assertNull(stats.getReconciledAt());
+    }
+
+    @Test
+    public void testReconcileCorrectsDrift() {
+        userRepository.saveAndFlush(newUser(true, "57"));
+        UserStatistics statistics = new UserStatistics(jdbcTemplate, 24);
+        statistics.reconcile();
+
+        statistics.recordCreated(true, new Date(), List.of("99"));
+        assertEquals(2, statistics.snapshot().getTotal());
+
+        statistics.reconcile();
+
+        UserStatsResponse stats = statistics.snapshot();
+        assertEquals(1, stats.getTotal());
+        assertEquals(1, stats.getActive());
+        assertEquals(Map.of("57", 1L), stats.getByCountryCode());
+        assertEquals(1, stats.getRegistrationsPerHour().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private static User newUser(boolean active, String... countryCodes) {
+        User user = new User();
+        user.setName("Usuario");
+        user.setEmail(UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        user.setPassword("hash");
+        user.setCreated(new Date());
+        user.setModified(new Date());
+        user.setLastLogin(new Date());
+        user.setToken("token");
+        user.setActive(active);
+        List<Phone> phones = new ArrayList<>();
+        for (int i = 0; i < countryCodes.length; i++) {
+            Phone phone = new Phone();
+            phone.setNumber("123456" + i);
+            phone.setCityCode("1");
+            phone.setCountryCode(countryCodes[i]);
+            phones.add(phone);
+        }
+        user.setPhones(phones);
+        return user;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bbeltranl.evaluation.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHasherTest {
+
+    @Test
+    public void testHashMatchesPassword() {
+        PasswordHasher hasher = new PasswordHasher(4, 4, Duration.ofMillis(100), 1, 10);
+
+        String hash = hasher.hash("Password1!");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("Password1!", hash));
+        assertFalse(hasher.matches("Password2!", hash));
+        assertNull(hasher.hash(null));
+        hasher.shutdown();
+    }
+
+    @Test
+    public void testHashAllKeepsOrder() {
+        PasswordHasher hasher = new PasswordHasher(4, 4, Duration.ofMillis(100), 2, 10);
+
+        List<String> hashes = hasher.hashAll(Arrays.asList("Password1!", null, "Password3!"));
+
+        assertEquals(3, hashes.size());
+        assertTrue(hasher.matches("Password1!", hashes.get(0)));
+        assertNull(hashes.get(1));
+        assertTrue(hasher.matches("Password3!", hashes.get(2)));
+        hasher.shutdown();
+    }
+
+    @Test
+    public void testCalibrationNeverGoesBelowMinimumCost() {
+        PasswordHasher hasher = new PasswordHasher(0, 5, Duration.ofNanos(1), 1, 10);
+
+        assertEquals(5, hasher.getCost());
+        hasher.shutdown();
+    }
+
+    @Test
+    public void testRejectsWhenPoolIsSaturated() {
+        PasswordHasher hasher = new PasswordHasher(12, 4, Duration.ofMillis(100), 1, 1);
+
+        hasher.hashAsync("Password1!");
+        hasher.hashAsync("Password2!");
+
+        Exception exception = assertThrows(RejectedExecutionException.class, () -> hasher.hash("Password3!"));
+        assertEquals("Servicio ocupado, intente nuevamente más tarde", exception.getMessage());
+        hasher.shutdown();
+    }
+}
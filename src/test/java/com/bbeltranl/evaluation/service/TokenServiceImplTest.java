@@ -0,0 +1,69 @@
+package com.bbeltranl.evaluation.service;
+
+import com.bbeltranl.evaluation.config.JwtProperties;
+import com.bbeltranl.evaluation.service.impl.TokenServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenServiceImplTest {
+
+    @Test
+    public void testGeneratedTokenIsVerified() {
+        TokenService tokenService = new TokenServiceImpl(properties("k1", "k1"));
+
+        String token = tokenService.generateToken("test@example.com");
+
+        assertEquals("test@example.com", tokenService.verifyToken(token));
+        assertEquals("test@example.com", tokenService.verifyToken(token));
+    }
+
+    @Test
+    public void testTokenSignedWithPreviousKeyIsVerifiedAfterRotation() {
+        String token = new TokenServiceImpl(properties("k1", "k1")).generateToken("test@example.com");
+
+        TokenService rotated = new TokenServiceImpl(properties("k2", "k1", "k2"));
+
+        assertEquals("test@example.com", rotated.verifyToken(token));
+    }
+
+    @Test
+    public void testTokenSignedWithRemovedKeyIsRejected() {
+        String token = new TokenServiceImpl(properties("k1", "k1")).generateToken("test@example.com");
+
+        TokenService rotated = new TokenServiceImpl(properties("k2", "k2"));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> rotated.verifyToken(token));
+        assertEquals("Token inválido", exception.getMessage());
+    }
+
+    @Test
+    public void testTamperedTokenIsRejected() {
+        TokenService tokenService = new TokenServiceImpl(properties("k1", "k1"));
+        String token = tokenService.generateToken("test@example.com");
+
+        assertThrows(IllegalArgumentException.class, () -> tokenService.verifyToken(token + "x"));
+    }
+
+    @Test
+    public void testExpiredTokenIsRejected() {
+        JwtProperties properties = properties("k1", "k1");
+        properties.setExpiration(Duration.ofMillis(-1000));
+        TokenService tokenService = new TokenServiceImpl(properties);
+
+        String token = tokenService.generateToken("test@example.com");
+
+        assertThrows(IllegalArgumentException.class, () -> tokenService.verifyToken(token));
+    }
+
+    private static JwtProperties properties(String activeKeyId, String... keyIds) {
+        JwtProperties properties = new JwtProperties();
+        properties.setActiveKeyId(activeKeyId);
+        for (String keyId : keyIds) {
+            properties.getKeys().put(keyId, "c2VjcmV0LWZvci0" + keyId);
+        }
+        return properties;
+    }
+}
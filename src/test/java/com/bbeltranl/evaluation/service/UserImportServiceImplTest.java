@@ -0,0 +1,122 @@
+package com.bbeltranl.evaluation.service;
+
+import com.bbeltranl.evaluation.dto.ImportJob;
+import com.bbeltranl.evaluation.repository.UserRepository;
+import com.bbeltranl.evaluation.service.impl.UserImportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "custom.password.cost=4",
+        "custom.import.directory=target/test-imports",
+        "custom.import.chunk-size=3"})
+@Import({UserServiceTestConfiguration.class, UserImportServiceImpl.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserImportServiceImplTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${custom.import.directory}")
+    private Path directory;
+
+    @Test
+    public void testImportNdjsonRejectsInvalidRecords() throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        String source = store("users.ndjson",
+                user(prefix, 0) + "\n"
+                        + "{\"name\":\"Sin correo\",\"password\":\"Password1!\"}\n"
+                        + "\n"
+                        + user(prefix, 1) + "\n"
+                        + "{not json\n"
+                        + user(prefix, 0) + "\n"
+                        + user(prefix, 2) + "\n");
+
+        ImportJob job = await(userImportService.startImport(source, null, null));
+
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertEquals(ImportJob.Format.NDJSON, job.getFormat());
+        assertEquals(6, job.getProcessed());
+        assertEquals(3, job.getImported());
+        assertEquals(3, job.getRejected());
+        assertEquals(6, job.getCheckpoint());
+        assertTrue(userRepository.findByEmail(prefix + "-2@example.com").isPresent());
+
+        List<String> rejected = Files.readAllLines(directory.resolve(job.getRejectedFile()));
+        assertEquals(3, rejected.size());
+        assertTrue(rejected.get(0).contains("\"index\":1") && rejected.get(0).contains("\"status\":400"));
+        assertTrue(rejected.get(1).contains("\"index\":3") && rejected.get(1).contains("Registro con formato inválido"));
+        assertTrue(rejected.get(2).contains("\"index\":4") && rejected.get(2).contains("\"status\":409"));
+        assertFalse(rejected.stream().anyMatch(line -> line.contains("Password1!")));
+        assertFalse(Files.exists(directory.resolve(source + ".checkpoint")));
+    }
+
+    @Test
+    public void testImportCsvResumesFromCheckpoint() throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        StringBuilder csv = new StringBuilder("name,email,password,phones\n");
+        for (int i = 0; i < 5; i++) {
+            csv.append("\"Usuario, ").append(i).append("\",").append(prefix).append('-').append(i)
+                    .append("@example.com,Password1!,1234567:1:57;7654321:2:57\n");
+        }
+        String source = store("users.csv", csv.toString());
+        Files.writeString(directory.resolve(source + ".checkpoint"), "3");
+
+        ImportJob job = await(userImportService.startImport(source, null, null));
+
+        assertEquals(ImportJob.Format.CSV, job.getFormat());
+        assertEquals(3, job.getStartOffset());
+        assertEquals(2, job.getImported());
+        assertEquals(0, job.getRejected());
+        assertTrue(userRepository.findByEmail(prefix + "-2@example.com").isEmpty());
+        assertEquals("Usuario, 4", userService.getUserByEmail(prefix + "-4@example.com").getName());
+        assertEquals(2, userService.getUserByEmail(prefix + "-4@example.com").getPhones().size());
+    }
+
+    @Test
+    public void testImportOutsideDirectoryIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> userImportService.startImport("../pom.xml", null, 0L));
+        assertThrows(IllegalArgumentException.class, () -> userImportService.getJob(UUID.randomUUID()));
+    }
+
+    private String store(String name, String content) throws Exception {
+        return userImportService.store(name, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String user(String prefix, int i) {
+        return "{\"name\":\"Usuario " + i + "\",\"email\":\"" + prefix + "-" + i + "@example.com\","
+                + "\"password\":\"Password1!\",\"phones\":[{\"number\":\"1234567\",\"cityCode\":\"1\","
+                + "\"countryCode\":\"57\"}]}";
+    }
+
+    private static ImportJob await(ImportJob job) throws InterruptedException {
+        for (int i = 0; i < 200 && job.getStatus() == ImportJob.Status.RUNNING; i++) {
+            Thread.sleep(50);
+        }
+        assertNotEquals(ImportJob.Status.RUNNING, job.getStatus());
+        return job;
+    }
+}
@@ -0,0 +1,531 @@
+package com.bbeltranl.evaluation.service;
+
+import com.bbeltranl.evaluation.dto.BatchItemResult;
+import com.bbeltranl.evaluation.dto.CursorPage;
+import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.dto.UserResponse;
+import com.bbeltranl.evaluation.dto.UserSearchCriteria;
+import com.bbeltranl.evaluation.dto.UserVersion;
+import com.bbeltranl.evaluation.dto.UserView;
+import com.bbeltranl.evaluation.exception.EmailConflictException;
+import com.bbeltranl.evaluation.exception.PreconditionFailedException;
+import com.bbeltranl.evaluation.model.Phone;
+import com.bbeltranl.evaluation.model.User;
+import com.bbeltranl.evaluation.repository.LastLoginBuffer;
+import com.bbeltranl.evaluation.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.bbeltranl.evaluation.service.SqlRecorder",
+        "custom.password.cost=4"})
+@Import(UserServiceTestConfiguration.class)
+public class UserServiceImplStatementCountTest {
+
+    private static final int USERS = 25;
+
+    @Autowired
+    private UserService userService;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User lastUser;
+
+    @BeforeEach
+    public void setUp() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(newUser(i));
+        }
+        lastUser = userRepository.saveAllAndFlush(users).get(USERS - 1);
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlRecorder.clear();
+    }
+
+    @Test
+    public void testListAllUsesSingleStatement() {
+        List<User> users = userService.listAll();
+        users.forEach(user -> user.getPhones().size());
+
+        assertEquals(USERS, users.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testListPageLoadsPhonesInOneBatch() {
+        CursorPage<UserView> page = userService.listPage(null, USERS);
+
+        assertEquals(USERS, page.getItems().size());
+        page.getItems().forEach(user -> assertEquals(2, user.getPhones().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testSearchByNamePrefixIsCaseInsensitiveAndPaged() {
+        UserSearchCriteria criteria = new UserSearchCriteria();
+        criteria.setName("user 1");
+
+        List<UserView> found = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<UserView> page = userService.search(criteria, cursor, 5);
+            page.getItems().forEach(user -> assertEquals(2, user.getPhones().size()));
+            found.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(11, found.size());
+        assertEquals(11, found.stream().map(UserView::getId).distinct().count());
+        assertTrue(found.stream().allMatch(user -> user.getName().startsWith("User 1")));
+        List<String> names = found.stream().map(user -> user.getName().toLowerCase()).toList();
+        assertEquals(names.stream().sorted().toList(), names);
+        assertEquals(3, pages);
+        // the users and the phones of each page, the cursor carries the name to continue from
+        assertEquals(2 * pages, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testSearchByNameContinuesAfterCursorUserIsDeletedOrRenamed() {
+        UserSearchCriteria criteria = new UserSearchCriteria();
+        criteria.setName("user 1");
+        CursorPage<UserView> first = userService.search(criteria, null, 4);
+        userService.deleteUserById(first.getItems().get(3).getId(), null);
+
+        CursorPage<UserView> second = userService.search(criteria, first.getNextCursor(), 4);
+        UserRequest rename = new UserRequest();
+        rename.setName("User 0 renombrado");
+        userService.updateUser(second.getItems().get(3).getId(), rename, null);
+
+        CursorPage<UserView> third = userService.search(criteria, second.getNextCursor(), 4);
+
+        // "user 1", "user 10" .. "user 19" in name order, continuing from where each cursor was taken
+        assertEquals(List.of("User 13", "User 14", "User 15", "User 16"),
+                second.getItems().stream().map(UserView::getName).toList());
+        assertEquals(List.of("User 17", "User 18", "User 19"),
+                third.getItems().stream().map(UserView::getName).toList());
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    public void testSearchCombinesFilters() {
+        User other = newUser(99);
+        other.setEmail("someone@other.org");
+        other.setActive(false);
+        other.getPhones().get(0).setCountryCode("1");
+        other.getPhones().get(0).setCityCode("212");
+        userRepository.save(other);
+        entityManager.flush();
+
+        UserSearchCriteria byDomain = new UserSearchCriteria();
+        byDomain.setEmailDomain("OTHER.org");
+        assertEquals(List.of(other.getId()), ids(userService.search(byDomain, null, 100)));
+
+        UserSearchCriteria byPhone = new UserSearchCriteria();
+        byPhone.setCountryCode("1");
+        byPhone.setCityCode("212");
+        assertEquals(List.of(other.getId()), ids(userService.search(byPhone, null, 100)));
+
+        byPhone.setCityCode("1");
+        assertTrue(ids(userService.search(byPhone, null, 100)).isEmpty());
+
+        UserSearchCriteria active = new UserSearchCriteria();
+        active.setCountryCode("57");
+        active.setActive(true);
+        assertEquals(USERS, ids(userService.search(active, null, 100)).size());
+
+        UserSearchCriteria wildcard = new UserSearchCriteria();
+        wildcard.setName("User_");
+        assertTrue(ids(userService.search(wildcard, null, 100)).isEmpty());
+    }
+
+    @Test
+    public void testSearchQueriesUseIndexes() {
+        String byName = (String) entityManager.createNativeQuery(
+                "explain select id from \"user\" where name_key like 'user 1%' order by name_key, id")
+                .getSingleResult();
+        String byDomain = (String) entityManager.createNativeQuery(
+                "explain select id from \"user\" where email_domain = 'example.com' order by id").getSingleResult();
+        String byPhone = (String) entityManager.createNativeQuery(
+                "explain select user_id from phone where country_code = '57' and city_code = '1'").getSingleResult();
+
+        assertTrue(byName.toUpperCase().contains("IX_USER_NAME_KEY"), byName);
+        assertTrue(byName.contains("index sorted"), byName);
+        assertTrue(byDomain.toUpperCase().contains("IX_USER_EMAIL_DOMAIN"), byDomain);
+        assertTrue(byPhone.toUpperCase().contains("IX_PHONE_COUNTRY_CITY"), byPhone);
+    }
+
+    @Test
+    public void testGetUserByIdUsesSingleStatement() {
+        UserView user = userService.getUserById(lastUser.getId());
+
+        assertEquals(2, user.getPhones().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        userService.getUserById(lastUser.getId());
+        userService.getUserByEmail(lastUser.getEmail().toUpperCase());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testRegisterUserUsesSingleInsert() {
+        UserRequest request = new UserRequest();
+        request.setName("New User");
+        request.setEmail("New.User@Example.com");
+        request.setPassword("Password1!");
+
+        User user = userService.registerUser(request);
+
+        assertEquals("new.user@example.com", user.getEmail());
+        assertTrue(user.getPassword().startsWith("$2a$04$"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testLoginsAreBufferedAndFlushedAsOneUpdate() {
+        UserRequest request = new UserRequest();
+        request.setName("Login User");
+        request.setEmail("login.user@example.com");
+        request.setPassword("Password1!");
+        User registered = userService.registerUser(request);
+        statistics.clear();
+
+        userService.login("Login.User@Example.com", "Password1!");
+        UserResponse last = userService.login("login.user@example.com", "Password1!");
+
+        assertNotNull(last.getToken());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, lastLoginBuffer.pendingCount());
+        assertThrows(IllegalArgumentException.class, () -> userService.login("login.user@example.com", "Wrong1!pass"));
+        assertEquals(last.getLastLogin().getTime(),
+                userService.getUserById(registered.getId()).getLastLogin().getTime());
+        assertEquals(last.getLastLogin().getTime(),
+                userService.getVersion(registered.getId()).getLastLogin().getTime());
+
+        assertEquals(1, lastLoginBuffer.flush());
+        assertEquals(0, lastLoginBuffer.pendingCount());
+        entityManager.clear();
+        User stored = userRepository.findById(registered.getId()).orElseThrow();
+        assertEquals(last.getLastLogin().getTime(), stored.getLastLogin().getTime());
+        assertEquals(registered.getModified().getTime(), stored.getModified().getTime());
+    }
+
+    @Test
+    public void testRegisterUserWithExistingEmailIgnoringCase() {
+        UserRequest request = new UserRequest();
+        request.setName("Duplicated");
+        request.setEmail("USER0@example.com");
+        request.setPassword("Password1!");
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.registerUser(request);
+        });
+
+        assertEquals("El correo ya registrado", exception.getMessage());
+    }
+
+    @Test
+    public void testRegisterUsersBatchesInserts() {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            UserRequest request = new UserRequest();
+            request.setName("Batch " + i);
+            request.setEmail("batch" + i + "@example.com");
+            request.setPassword("Password1!");
+            request.setPhones(newUser(100 + i).getPhones());
+            requests.add(request);
+        }
+        requests.get(3).setPassword("weak");
+        requests.get(5).setEmail("user0@example.com");
+        requests.get(7).setEmail("BATCH6@example.com");
+
+        List<BatchItemResult> results = userService.registerUsers(requests);
+
+        assertEquals(40, results.size());
+        assertEquals(400, results.get(3).getStatus());
+        assertTrue(results.get(3).getErrors().containsKey("password"));
+        assertEquals(409, results.get(5).getStatus());
+        assertEquals(201, results.get(6).getStatus());
+        assertEquals(409, results.get(7).getStatus());
+        assertEquals(37, results.stream().filter(result -> result.getStatus() == 201).count());
+        assertEquals(USERS + 37, userRepository.count());
+        // existing emails lookup + one batched statement for users and one for phones
+        assertTrue(statistics.getPrepareStatementCount() <= 5);
+    }
+
+    @Test
+    public void testUpdateUserWritesOnlyChangedColumns() {
+        UserRequest request = new UserRequest();
+        request.setName("Renamed");
+
+        UserView user = userService.updateUser(lastUser.getId(), request, null);
+        entityManager.flush();
+
+        assertEquals("Renamed", user.getName());
+        // the user with its phones, then the update
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        String update = SqlRecorder.statements().stream()
+                .filter(sql -> sql.startsWith("update"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(update.contains("name"));
+        assertFalse(update.contains("email"));
+        assertFalse(update.contains("password"));
+        assertFalse(update.contains("token"));
+    }
+
+    @Test
+    public void testUpdateUserWithExistingEmail() {
+        UserRequest request = new UserRequest();
+        request.setEmail("USER0@example.com");
+
+        Exception exception = assertThrows(EmailConflictException.class, () -> {
+            userService.updateUser(lastUser.getId(), request, null);
+        });
+
+        assertEquals("El correo ya registrado", exception.getMessage());
+    }
+
+    @Test
+    public void testUpdateUserMatchesPhonesByNumber() {
+        Phone first = lastUser.getPhones().get(0);
+        Phone second = lastUser.getPhones().get(1);
+        List<Phone> phones = new ArrayList<>();
+        Phone changed = new Phone();
+        changed.setNumber(first.getNumber());
+        changed.setCityCode("2");
+        changed.setCountryCode("57");
+        phones.add(changed);
+        Phone renumbered = new Phone();
+        // an id in the request does not identify the phone, only its number does
+        renumbered.setId(second.getId());
+        renumbered.setNumber("5558888");
+        renumbered.setCityCode("1");
+        renumbered.setCountryCode("57");
+        phones.add(renumbered);
+        UserRequest request = new UserRequest();
+        request.setPhones(phones);
+
+        userService.updateUser(lastUser.getId(), request, null);
+        entityManager.flush();
+
+        // the phone with the same number is updated in place, the renumbered one is replaced
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+        assertEquals(2, statistics.getEntityUpdateCount());
+        entityManager.clear();
+        List<Phone> stored = userRepository.findWithPhonesById(lastUser.getId()).orElseThrow().getPhones();
+        Phone kept = stored.stream().filter(phone -> phone.getNumber().equals(first.getNumber())).findFirst()
+                .orElseThrow();
+        assertEquals(first.getId(), kept.getId());
+        assertEquals("2", kept.getCityCode());
+        assertTrue(stored.stream().noneMatch(phone -> phone.getId().equals(second.getId())));
+    }
+
+    @Test
+    public void testUpdateUserReconcilesPhones() {
+        List<Phone> phones = new ArrayList<>();
+        Phone kept = new Phone();
+        kept.setNumber(lastUser.getPhones().get(0).getNumber());
+        kept.setCityCode("1");
+        kept.setCountryCode("57");
+        phones.add(kept);
+        Phone added = new Phone();
+        added.setNumber("5559999");
+        added.setCityCode("2");
+        added.setCountryCode("57");
+        phones.add(added);
+        UserRequest request = new UserRequest();
+        request.setPhones(phones);
+
+        UserView user = userService.updateUser(lastUser.getId(), request, null);
+        entityManager.flush();
+
+        assertEquals(2, user.getPhones().size());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+        // only the user row is updated, the kept phone is left alone
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testRegisterUsersFallsBackWhenChunkRacesOnEmail() {
+        // another request registers user0@example.com between the existing emails lookup and the insert
+        doReturn(List.of()).when(userRepository).findExistingEmails(any());
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            UserRequest request = new UserRequest();
+            request.setName("Race " + i);
+            request.setEmail("race" + i + "@example.com");
+            request.setPassword("Password1!");
+            request.setPhones(newUser(200 + i).getPhones());
+            requests.add(request);
+        }
+        requests.get(1).setEmail("user0@example.com");
+
+        try {
+            List<BatchItemResult> results = userService.registerUsers(requests);
+
+            assertEquals(201, results.get(0).getStatus());
+            assertEquals(409, results.get(1).getStatus());
+            assertEquals("El correo ya registrado", results.get(1).getMensaje());
+            assertEquals(201, results.get(2).getStatus());
+            assertEquals(2, userService.getUserByEmail("race2@example.com").getPhones().size());
+            requests.forEach(request -> request.getPhones().forEach(phone -> assertNull(phone.getId())));
+            // the failed chunk, then one insert of the user and one of its phones per user
+            assertTrue(statistics.getPrepareStatementCount() <= 7);
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    public void testDeleteUserUsesTwoBulkStatements() {
+        userService.deleteUserById(lastUser.getId(), null);
+
+        // the statistics row of the user, then the two bulk deletes
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertFalse(userRepository.existsById(lastUser.getId()));
+    }
+
+    @Test
+    public void testDeleteUnknownUser() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.deleteUserById(UUID.randomUUID(), null);
+        });
+
+        assertEquals("Usuario no encontrado", exception.getMessage());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testExportStreamsUsersWithSingleQuery() {
+        List<UserView> exported = new ArrayList<>();
+
+        long count = userService.exportUsers(exported::add);
+
+        assertEquals(USERS, count);
+        assertEquals(USERS, exported.size());
+        exported.forEach(user -> assertEquals(2, user.getPhones().size()));
+        assertEquals(USERS, exported.stream().map(UserView::getId).distinct().count());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testGetVersionUsesSingleQuery() {
+        UserVersion version = userService.getVersion(lastUser.getId());
+
+        assertEquals(lastUser.getModified().getTime(), version.getModified().getTime());
+        assertEquals(lastUser.getLastLogin().getTime(), version.getLastLogin().getTime());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testConditionalUpdateWithCurrentVersion() {
+        UserRequest request = new UserRequest();
+        request.setName("Renamed");
+
+        UserView user = userService.updateUser(lastUser.getId(), request, lastUser.getModified());
+
+        assertEquals("Renamed", user.getName());
+        assertTrue(user.getModified().after(lastUser.getModified()));
+    }
+
+    @Test
+    public void testConditionalUpdateWithStaleVersion() {
+        UserRequest request = new UserRequest();
+        request.setName("Renamed");
+
+        assertThrows(PreconditionFailedException.class, () -> {
+            userService.updateUser(lastUser.getId(), request, new Date(lastUser.getModified().getTime() - 1));
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            userService.updateUser(UUID.randomUUID(), request, lastUser.getModified());
+        });
+    }
+
+    @Test
+    public void testConditionalDelete() {
+        Date stale = new Date(lastUser.getModified().getTime() - 1);
+        assertThrows(PreconditionFailedException.class, () -> {
+            userService.deleteUserById(lastUser.getId(), stale);
+        });
+
+        userService.deleteUserById(lastUser.getId(), lastUser.getModified());
+
+        assertFalse(userRepository.existsById(lastUser.getId()));
+    }
+
+    private static List<UUID> ids(CursorPage<UserView> page) {
+        return page.getItems().stream().map(UserView::getId).toList();
+    }
+
+    private User newUser(int index) {
+        User user = new User();
+        user.setName("User " + index);
+        user.setEmail("user" + index + "@example.com");
+        user.setPassword("Password1!");
+        user.setCreated(new Date());
+        user.setModified(new Date());
+        user.setLastLogin(new Date());
+        user.setActive(true);
+
+        List<Phone> phones = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Phone phone = new Phone();
+            phone.setNumber("55500" + index + i);
+            phone.setCityCode("1");
+            phone.setCountryCode("57");
+            phones.add(phone);
+        }
+        user.setPhones(phones);
+        return user;
+    }
+}
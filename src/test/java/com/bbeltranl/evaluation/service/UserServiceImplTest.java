@@ -1,15 +1,28 @@
 package com.bbeltranl.evaluation.service;
 
+import com.bbeltranl.evaluation.cache.UserCache;
+import com.bbeltranl.evaluation.dto.CursorPage;
+import com.bbeltranl.evaluation.dto.UserChangeEvent;
+import com.bbeltranl.evaluation.feed.UserChangeFeed;
 import com.bbeltranl.evaluation.model.User;
 import com.bbeltranl.evaluation.dto.UserRequest;
+import com.bbeltranl.evaluation.dto.UserView;
 import com.bbeltranl.evaluation.repository.UserRepository;
+import com.bbeltranl.evaluation.repository.UserStatistics;
+import com.bbeltranl.evaluation.security.PasswordHasher;
 import com.bbeltranl.evaluation.service.impl.UserServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,23 +38,41 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UserChangeFeed userChangeFeed;
+
+    @Mock
+    private UserStatistics userStatistics;
+
 
     @Test
     public void testRegisterUser() {
         UserRequest userRequest = new UserRequest();
-        userRequest.setEmail("test@example.com");
+        userRequest.setEmail("Test@Example.com");
 
         User user = new User();
         user.setId(UUID.randomUUID());
         user.setEmail("test@example.com");
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
-        when(userRepository.save(any())).thenReturn(user);
+        when(userRepository.saveAndFlush(any())).thenReturn(user);
 
         User result = userService.registerUser(userRequest);
 
         assertNotNull(result.getId());
         assertEquals("test@example.com", result.getEmail());
+        verify(userRepository).saveAndFlush(argThat(saved -> "test@example.com".equals(saved.getEmail())));
+        verify(userRepository, never()).findByEmail(any());
+        verify(userChangeFeed).publishAfterCommit(eq(UserChangeEvent.Type.CREATED), eq(user.getId()), any());
+        verify(userStatistics).recordCreated(anyBoolean(), any(), any());
     }
 
     @Test
@@ -49,9 +80,9 @@ public class UserServiceImplTest {
         UserRequest userRequest = new UserRequest();
         userRequest.setEmail("test@example.com");
 
-        User user = new User();
-
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "duplicate", new SQLException("duplicate"), "PUBLIC.UX_USER_EMAIL_INDEX_2");
+        when(userRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate", violation));
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
             userService.registerUser(userRequest);
@@ -60,4 +91,39 @@ public class UserServiceImplTest {
         assertEquals("El correo ya registrado", exception.getMessage());
     }
 
+    @Test
+    public void testListPageReturnsNextCursorWhenMoreUsersExist() {
+        ReflectionTestUtils.setField(userService, "maxPageSize", 2);
+
+        UserView first = new UserView();
+        first.setId(UUID.randomUUID());
+        UserView second = new UserView();
+        second.setId(UUID.randomUUID());
+        UserView third = new UserView();
+        third.setId(UUID.randomUUID());
+
+        when(userRepository.findViews(Limit.of(3))).thenReturn(List.of(first, second, third));
+
+        CursorPage<UserView> page = userService.listPage(null, 50);
+
+        assertEquals(List.of(first, second), page.getItems());
+        assertNotNull(page.getNextCursor());
+
+        when(userRepository.findViewsAfter(second.getId(), Limit.of(3))).thenReturn(List.of(third));
+
+        CursorPage<UserView> next = userService.listPage(page.getNextCursor(), 2);
+
+        assertEquals(List.of(third), next.getItems());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    public void testListPageWithInvalidCursor() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            userService.listPage("not-a-cursor", 10);
+        });
+
+        assertEquals("Cursor inválido", exception.getMessage());
+    }
+
 }
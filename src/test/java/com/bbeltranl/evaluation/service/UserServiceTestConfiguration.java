@@ -0,0 +1,26 @@
+package com.bbeltranl.evaluation.service;
+
+import com.bbeltranl.evaluation.cache.UserCache;
+import com.bbeltranl.evaluation.config.SecurityConfig;
+import com.bbeltranl.evaluation.feed.UserChangeFeed;
+import com.bbeltranl.evaluation.repository.LastLoginBuffer;
+import com.bbeltranl.evaluation.repository.UserStatistics;
+import com.bbeltranl.evaluation.security.PasswordHasher;
+import com.bbeltranl.evaluation.service.impl.TokenServiceImpl;
+import com.bbeltranl.evaluation.service.impl.UserServiceImpl;
+import com.bbeltranl.evaluation.validator.PasswordPolicy;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Imports {@link UserServiceImpl} and its collaborators into a {@code @DataJpaTest} slice, so a new dependency
+ * of the service is added here once rather than to every test.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Import({UserServiceImpl.class, UserCache.class, TokenServiceImpl.class, SecurityConfig.class, PasswordPolicy.class,
+        PasswordHasher.class, LastLoginBuffer.class, UserChangeFeed.class, UserStatistics.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+public class UserServiceTestConfiguration {
+}
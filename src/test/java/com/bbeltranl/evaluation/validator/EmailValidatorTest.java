@@ -0,0 +1,40 @@
+package com.bbeltranl.evaluation.validator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailValidatorTest {
+
+    private static final Pattern LEGACY_PATTERN = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$");
+
+    @Test
+    public void testKnownAddresses() {
+        assertTrue(EmailValidator.isValidEmail("user@domain.com"));
+        assertTrue(EmailValidator.isValidEmail("first.last+tag@sub.domain.co"));
+        assertFalse(EmailValidator.isValidEmail("user@domain"));
+        assertFalse(EmailValidator.isValidEmail("user@.com"));
+        assertFalse(EmailValidator.isValidEmail("@domain.com"));
+        assertFalse(EmailValidator.isValidEmail("user@domain.c0m"));
+        assertFalse(EmailValidator.isValidEmail("user@domain.com\n"));
+    }
+
+    @Test
+    public void testMatchesLegacyPattern() {
+        String alphabet = "aZ0._%+-@.c\n é";
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String value = builder.toString();
+            assertEquals(LEGACY_PATTERN.matcher(value).matches(), EmailValidator.isValidEmail(value),
+                    () -> "Mismatch for " + value);
+        }
+    }
+}
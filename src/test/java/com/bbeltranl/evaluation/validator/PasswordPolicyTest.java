@@ -0,0 +1,59 @@
+package com.bbeltranl.evaluation.validator;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordPolicyTest {
+
+    private static final String ALPHABET = "aZ9@#.!xY0 \t\n\r\u0085 -_[]é😀";
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!.])(?=\\S+$).{8,}$",
+            "^[0-9]{8,}$",
+            "^[a-zA-Z]{8,}$",
+            "(?=.*\\d)\\S{4,10}",
+            "^[a-z_-]{2}$"
+    })
+    public void testCompiledPolicyMatchesRegex(String regex) {
+        PasswordPolicy policy = new PasswordPolicy(regex);
+        assertTrue(policy.isCompiled());
+        assertSameAsRegex(policy, regex);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "^(abc|xyz)+[0-9]$",
+            "(?i)^[a-z]{8,}$",
+            "^[^ ]{8,}$"
+    })
+    public void testUnsupportedPolicyFallsBackToRegex(String regex) {
+        PasswordPolicy policy = new PasswordPolicy(regex);
+        assertFalse(policy.isCompiled());
+        assertSameAsRegex(policy, regex);
+    }
+
+    private static void assertSameAsRegex(PasswordPolicy policy, String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        Random random = new Random(42);
+        String[] samples = {"", "Password1!", "password1!", "PASSWORD1!", "Passw1!", "Pass word1!", "Password1!\n",
+                "12345678", "abcdEFGH", "\nPassword1!", "Password1! ", "ab", "a-", "Z_"};
+        for (String sample : samples) {
+            assertEquals(pattern.matcher(sample).matches(), policy.matches(sample), () -> "Mismatch for " + sample);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(14);
+            for (int j = 0; j < length; j++) {
+                builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            String value = builder.toString();
+            assertEquals(pattern.matcher(value).matches(), policy.matches(value), () -> "Mismatch for " + value);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.bbeltranl.evaluation.web;
+
+import com.bbeltranl.evaluation.cache.IdempotencyCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyFilterTest {
+
+    private final IdempotencyFilter filter =
+            new IdempotencyFilter(new IdempotencyCache(100, Duration.ofMinutes(5)), Duration.ofSeconds(5), 1024);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    public void testRetryReplaysFirstResponse() throws Exception {
+        FilterChain chain = (request, response) -> {
+            String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            ((HttpServletResponse) response).setStatus(201);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"n\": " + executions.incrementAndGet() + ", \"echo\": " + body + "}");
+        };
+
+        MockHttpServletResponse first = send("key-1", "{\"a\": 1}", chain);
+        MockHttpServletResponse retry = send("key-1", "{\"a\": 1}", chain);
+
+        assertEquals(1, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertArrayEquals(first.getContentAsByteArray(), retry.getContentAsByteArray());
+        assertEquals("application/json", retry.getContentType());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+
+        assertEquals(422, send("key-1", "{\"a\": 2}", chain).getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testConcurrentDuplicatesExecuteOnce() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((HttpServletResponse) response).setStatus(201);
+            response.getWriter().write("{\"id\": 1}");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> send("key-2", "{}", chain));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Future<MockHttpServletResponse> second = executor.submit(() -> send("key-2", "{}", chain));
+            Future<MockHttpServletResponse> third = executor.submit(() -> send("key-2", "{}", chain));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals("{\"id\": 1}", first.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertEquals("{\"id\": 1}", second.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertEquals(201, third.get(5, TimeUnit.SECONDS).getStatus());
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testServerErrorsAreNotReplayed() throws Exception {
+        FilterChain chain = (request, response) -> ((HttpServletResponse) response)
+                .setStatus(executions.incrementAndGet() == 1 ? 503 : 201);
+
+        assertEquals(503, send("key-3", "{}", chain).getStatus());
+        assertEquals(201, send("key-3", "{}", chain).getStatus());
+        assertEquals(201, send("key-3", "{}", chain).getStatus());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    public void testCachedBodyCanBeReadWithReadListener() throws Exception {
+        StringBuilder events = new StringBuilder();
+        FilterChain chain = (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.append(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.append("|end");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.append("|error");
+                }
+            });
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        assertEquals(201, send("key-4", "{\"a\": 1}", chain).getStatus());
+        assertEquals("{\"a\": 1}|end", events.toString());
+    }
+
+    @Test
+    public void testBodyOverLimitIsRejectedBeforeExecution() throws Exception {
+        FilterChain chain = (request, response) -> executions.incrementAndGet();
+        String large = "x".repeat(2048);
+
+        MockHttpServletResponse declared = send("key-large", large, chain);
+        assertEquals(413, declared.getStatus());
+
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/users/") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.addHeader(IdempotencyFilter.HEADER, "key-chunked");
+        chunked.setContent(large.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse undeclared = new MockHttpServletResponse();
+        filter.doFilter(chunked, undeclared, chain);
+        assertEquals(413, undeclared.getStatus());
+
+        assertEquals(0, executions.get());
+        assertEquals(201, send("key-small", "{}", (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+        }).getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}